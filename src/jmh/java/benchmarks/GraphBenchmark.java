@@ -0,0 +1,35 @@
+package benchmarks;
+
+import graph.CompactGraph;
+import graph.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBenchmark {
+
+    @Benchmark
+    public Graph addEdges(GraphState state) {
+        return state.build();
+    }
+
+    @Benchmark
+    public CompactGraph toCompact(FreshGraphState fresh) {
+        return fresh.graph.toCompact();
+    }
+
+    @Benchmark
+    public boolean isConnected(FreshGraphState fresh) {
+        return fresh.graph.isConnected();
+    }
+
+    @Benchmark
+    public boolean isConnectedCompact(GraphState state) {
+        return state.compact.isConnected();
+    }
+}
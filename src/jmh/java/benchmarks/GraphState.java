@@ -0,0 +1,84 @@
+package benchmarks;
+
+import graph.CompactGraph;
+import graph.Graph;
+import org.openjdk.jmh.annotations.*;
+import utils.GraphGenerator;
+
+import java.util.*;
+
+/**
+ * Seeded random connected graph shared by the benchmarks: a random spanning tree plus uniform
+ * distinct extra edges (no self-loops or parallel edges) until {@code density} of all vertex pairs
+ * are present. Weights are drawn from {@code 1..weightRange}.
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    @Param({"1000", "10000"})
+    public int vertexCount;
+
+    @Param({"0.002", "0.02"})
+    public double density;
+
+    @Param({"100", "1000000"})
+    public int weightRange;
+
+    public List<String> nodes;
+    public int[] from;
+    public int[] to;
+    public int[] weight;
+    public Graph graph;
+    public CompactGraph compact;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        long pairs = (long) vertexCount * (vertexCount - 1) / 2;
+        int edgeCount = (int) Math.max(vertexCount - 1, Math.min(pairs, Math.round(pairs * density)));
+
+        nodes = new ArrayList<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            nodes.add("V" + i);
+        }
+        from = new int[edgeCount];
+        to = new int[edgeCount];
+        weight = new int[edgeCount];
+        Set<Long> pairsSeen = new HashSet<>(edgeCount * 2);
+        for (int e = 0; e < edgeCount; e++) {
+            if (e < vertexCount - 1) {
+                to[e] = e + 1;
+                from[e] = random.nextInt(e + 1);
+            } else {
+                do {
+                    from[e] = random.nextInt(vertexCount);
+                    to[e] = random.nextInt(vertexCount);
+                } while (from[e] == to[e] || pairsSeen.contains(pairKey(from[e], to[e])));
+            }
+            pairsSeen.add(pairKey(from[e], to[e]));
+            weight[e] = random.nextInt(weightRange) + 1;
+        }
+
+        graph = build();
+        compact = graph.toCompact();
+    }
+
+    public Graph build() {
+        Graph built = new Graph(nodes);
+        for (int e = 0; e < from.length; e++) {
+            built.addEdge(nodes.get(from[e]), nodes.get(to[e]), weight[e]);
+        }
+        return built;
+    }
+
+    private static long pairKey(int u, int v) {
+        return (long) Math.min(u, v) << 32 | Math.max(u, v);
+    }
+
+    public GraphGenerator.GraphInput toInput(int id) {
+        List<GraphGenerator.EdgeInput> edges = new ArrayList<>(from.length);
+        for (int e = 0; e < from.length; e++) {
+            edges.add(new GraphGenerator.EdgeInput(nodes.get(from[e]), nodes.get(to[e]), weight[e]));
+        }
+        return new GraphGenerator.GraphInput(id, nodes, edges);
+    }
+}
@@ -0,0 +1,57 @@
+package benchmarks;
+
+import algorithms.KruskalAlgorithm;
+import algorithms.PrimAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import utils.JSONHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JSONHandlerBenchmark {
+    private File inputFile;
+    private File outputFile;
+    private List<JSONHandler.ResultData> results;
+
+    @Setup(Level.Trial)
+    public void setUp(GraphState state) throws IOException {
+        inputFile = Files.createTempFile("bench-input", ".json").toFile();
+        outputFile = Files.createTempFile("bench-output", ".json").toFile();
+        JSONHandler.writeInputGraphs(inputFile.getPath(), Collections.singletonList(state.toInput(1)));
+        results = Collections.singletonList(new JSONHandler.ResultData(1, state.graph.getVertexCount(),
+                state.graph.getEdgeCount(), new PrimAlgorithm().findMST(state.graph),
+                new KruskalAlgorithm().findMST(state.graph)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        inputFile.delete();
+        outputFile.delete();
+    }
+
+    @Benchmark
+    public List<JSONHandler.GraphData> readInputGraphs() {
+        return JSONHandler.readInputGraphs(inputFile.getPath());
+    }
+
+    @Benchmark
+    public boolean writeInputGraphs(GraphState state) {
+        return JSONHandler.writeInputGraphs(outputFile.getPath(), Collections.singletonList(state.toInput(1)));
+    }
+
+    @Benchmark
+    public long writeOutputResults() {
+        JSONHandler.writeOutputResults(outputFile.getPath(), results);
+        return outputFile.length();
+    }
+}
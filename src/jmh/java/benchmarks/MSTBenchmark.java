@@ -0,0 +1,39 @@
+package benchmarks;
+
+import algorithms.KruskalAlgorithm;
+import algorithms.PrimAlgorithm;
+import models.MSTResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MSTBenchmark {
+    private final PrimAlgorithm prim = new PrimAlgorithm();
+    private final KruskalAlgorithm kruskal = new KruskalAlgorithm();
+
+    @Benchmark
+    public MSTResult prim(FreshGraphState fresh) {
+        return prim.findMST(fresh.graph);
+    }
+
+    @Benchmark
+    public MSTResult kruskal(FreshGraphState fresh) {
+        return kruskal.findMST(fresh.graph);
+    }
+
+    @Benchmark
+    public MSTResult primCompact(GraphState state) {
+        return prim.findMST(state.compact);
+    }
+
+    @Benchmark
+    public MSTResult kruskalCompact(GraphState state) {
+        return kruskal.findMST(state.compact);
+    }
+}
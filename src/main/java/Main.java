@@ -1,71 +1,121 @@
+import algorithms.AutoMSTSolver;
 import algorithms.KruskalAlgorithm;
+import algorithms.MSTAlgorithm;
 import algorithms.PrimAlgorithm;
-import graph.Graph;
-import models.MSTResult;
+import algorithms.SpanningForestSolver;
+import graph.CompactGraph;
+import utils.BatchPipeline;
+import utils.BinaryGraphFormat;
 import utils.GraphGenerator;
 import utils.JSONHandler;
-import utils.GraphVisualizer;
+import utils.MSTResultCache;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class Main {
     public static void main(String[] args) {
         System.out.println("=== Transportation Network MST Optimization ===\n");
 
-        String inputFile = "src/main/resources/input_graphs.json";
+        String inputFile = args.length > 0 ? args[0] : "src/main/resources/input_graphs.json";
         String outputFile = "src/main/resources/output_results.json";
         String visualizationDir = "graph_images";
+        String cacheDir = ".mst-cache";
+
+        if (args.length == 0) {
+            System.out.println("Step 1: Generating 28 test graphs...");
+            List<GraphGenerator.GraphInput> generatedGraphs = GraphGenerator.generateAllGraphs();
+            if (JSONHandler.writeInputGraphs(inputFile, generatedGraphs)) {
+                System.out.println("Input graphs written to " + inputFile);
+            }
+            System.out.println("Generated graphs: " + generatedGraphs.size() + "\n");
+        } else {
+            System.out.println("Step 1: Using input file " + inputFile
+                    + (BinaryGraphFormat.isBinary(inputFile) ? " (binary)" : " (JSON)") + "\n");
+        }
 
-        System.out.println("Step 1: Generating 28 test graphs...");
-        List<GraphGenerator.GraphInput> generatedGraphs = GraphGenerator.generateAllGraphs();
-        JSONHandler.writeInputGraphs(inputFile, generatedGraphs);
-        System.out.println("Generated graphs: " + generatedGraphs.size() + "\n");
-
-        System.out.println("Step 2: Reading graphs from input file...");
-        List<JSONHandler.GraphData> graphs = JSONHandler.readInputGraphs(inputFile);
-        System.out.println("Loaded graphs: " + graphs.size() + "\n");
-
-        System.out.println("Step 3: Running MST algorithms...\n");
-        PrimAlgorithm prim = new PrimAlgorithm();
-        KruskalAlgorithm kruskal = new KruskalAlgorithm();
-
-        List<JSONHandler.ResultData> results = new ArrayList<>();
-
-        for (JSONHandler.GraphData graphData : graphs) {
-            int id = graphData.id;
-            Graph graph = graphData.graph;
-
-            System.out.println("Processing Graph #" + id);
-            System.out.println("  Vertices: " + graph.getVertexCount());
-            System.out.println("  Edges: " + graph.getEdgeCount());
-            System.out.println("  Connected: " + graph.isConnected());
-
-            MSTResult primResult = prim.findMST(graph);
-            MSTResult kruskalResult = kruskal.findMST(graph);
-
-            System.out.println(primResult);
-            System.out.println(kruskalResult);
-
-            boolean costMatch = primResult.getTotalCost() == kruskalResult.getTotalCost();
-            System.out.println("  Cost Match: " + (costMatch ? "✓" : "✗"));
-            System.out.println();
-
-            results.add(new JSONHandler.ResultData(id, graph.getVertexCount(),
-                    graph.getEdgeCount(), primResult, kruskalResult));
-
-            System.out.println("  Visualizing graph #" + id + "...");
-            GraphVisualizer.visualizeGraph(id, graph, primResult, visualizationDir);
+        System.out.println("Step 2: Streaming graphs from input file...");
+        System.out.println("Step 3: Running MST algorithms as graphs are parsed...\n");
+        MSTAlgorithm prim = new PrimAlgorithm();
+        MSTAlgorithm kruskal = new KruskalAlgorithm();
+        AutoMSTSolver autoSolver = new AutoMSTSolver();
+        SpanningForestSolver forestSolver = new SpanningForestSolver();
+        loadOrCalibrate(autoSolver, Paths.get(cacheDir, "calibration.properties"));
+
+        MSTResultCache cache = new MSTResultCache(256, cacheDir);
+        BatchPipeline pipeline = new BatchPipeline(prim, kruskal, autoSolver, visualizationDir, cache);
+        int processed;
+
+        try (Stream<JSONHandler.GraphData> graphs = JSONHandler.streamGraphs(inputFile);
+             JSONHandler.ResultWriter resultWriter = new JSONHandler.ResultWriter(outputFile)) {
+            processed = pipeline.run(graphs, resultWriter, new BatchPipeline.Listener<String>() {
+                @Override
+                public String inspect(JSONHandler.GraphData graphData, JSONHandler.ResultData result) {
+                    CompactGraph graph = graphData.compact;
+                    StringBuilder report = new StringBuilder();
+                    report.append("Processing Graph #").append(graphData.id).append('\n');
+                    report.append("  Vertices: ").append(graph.getVertexCount()).append('\n');
+                    report.append("  Edges: ").append(graph.getEdgeCount()).append('\n');
+                    boolean connected = graph.isConnected();
+                    report.append("  Connected: ").append(connected).append('\n');
+
+                    report.append(result.primResult).append('\n');
+                    report.append(result.kruskalResult).append('\n');
+                    report.append("  Fastest engine:").append(result.autoResult).append('\n');
+                    if (!connected) {
+                        report.append(forestSolver.findForest(graph)).append('\n');
+                    }
+
+                    boolean costMatch = result.primResult.getTotalCost() == result.kruskalResult.getTotalCost()
+                            && result.autoResult.getTotalCost() == result.primResult.getTotalCost();
+                    report.append("  Cost Match: ").append(costMatch ? "✓" : "✗").append('\n');
+                    return report.toString();
+                }
+
+                @Override
+                public void report(JSONHandler.GraphData graphData, JSONHandler.ResultData result, String report) {
+                    System.out.println(report);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while processing graphs");
+            return;
+        } catch (RuntimeException e) {
+            System.err.println("Error reading input graphs, " + outputFile + " is incomplete: " + e.getMessage());
+            System.exit(1);
+            return;
         }
 
-        System.out.println("\nStep 4: Writing results to output file...");
-        JSONHandler.writeOutputResults(outputFile, results);
+        System.out.println("\nStep 4: Results streamed to " + outputFile);
 
         System.out.println("\n=== Summary ===");
-        System.out.println("Total graphs processed: " + graphs.size());
+        System.out.println("Total graphs processed: " + processed);
         System.out.println("Input file: " + inputFile);
         System.out.println("Output file: " + outputFile);
         System.out.println("Visualizations: " + visualizationDir + "/");
+        System.out.println("Result cache: " + cache.getHitCount() + " hits, " + cache.getMissCount() + " misses");
         System.out.println("\nDone!");
     }
+
+    /** Reuses the engine cost model fitted by an earlier run on this machine, fitting one if there is none. */
+    private static void loadOrCalibrate(AutoMSTSolver autoSolver, Path calibrationFile) {
+        try {
+            if (autoSolver.loadCalibration(calibrationFile)) {
+                return;
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading calibration " + calibrationFile + ": " + e.getMessage());
+        }
+        System.out.println("Calibrating MST engines (saved to " + calibrationFile + ")...\n");
+        autoSolver.calibrate();
+        try {
+            autoSolver.saveCalibration(calibrationFile);
+        } catch (IOException e) {
+            System.err.println("Error writing calibration " + calibrationFile + ": " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,300 @@
+package algorithms;
+
+import graph.CompactGraph;
+import graph.Graph;
+import models.MSTResult;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Picks the engine with the lowest predicted time for each graph. Every registered engine comes
+ * with a work estimate over {@link GraphFeatures}; {@link #calibrate} times the engines on this
+ * machine and fits {@code time = fixed + perUnit * work} for each one by least squares. Before
+ * calibration the raw work estimates are compared, so engines registered later should be followed
+ * by another {@code calibrate} call. A fitted model can be saved and loaded again on the same
+ * machine instead of re-timing every run.
+ */
+public class AutoMSTSolver implements MSTAlgorithm {
+    private static final double DENSE_MIN_DENSITY = 0.05;
+
+    private final List<Engine> engines = new ArrayList<>();
+
+    public AutoMSTSolver() {
+        register(new PrimAlgorithm(), f -> f.getEdgeCount() + f.getVertexCount() * log2(f.getVertexCount()));
+        register(new KruskalAlgorithm(), f -> f.getWeightRange() <= Math.max(1024, f.getEdgeCount())
+                ? 2.0 * f.getEdgeCount() + f.getWeightRange()
+                : f.getEdgeCount() * log2(f.getEdgeCount()));
+        register(new FilterKruskalAlgorithm(), f -> 1.5 * f.getEdgeCount()
+                + f.getVertexCount() * log2(f.getVertexCount()) * log2(1.0 + (double) f.getEdgeCount() / Math.max(1, f.getVertexCount())));
+        register(new BoruvkaAlgorithm(), f -> 4.0 * f.getEdgeCount() * log2(f.getVertexCount()) / f.getCores()
+                + f.getVertexCount() * log2(f.getVertexCount()));
+        // the V x V scan is mostly empty cells on sparse graphs, so dense Prim is only a candidate
+        // above a minimum density
+        register(new DensePrimAlgorithm(), f -> f.getDensity() < DENSE_MIN_DENSITY
+                || 4.0 * f.getVertexCount() * f.getVertexCount() > Runtime.getRuntime().maxMemory() / 8
+                ? Double.POSITIVE_INFINITY
+                : (double) f.getVertexCount() * f.getVertexCount());
+    }
+
+    @Override
+    public String getName() {
+        return "Auto";
+    }
+
+    public synchronized void register(MSTAlgorithm algorithm, ToDoubleFunction<GraphFeatures> workEstimate) {
+        engines.removeIf(engine -> engine.algorithm.getName().equals(algorithm.getName()));
+        engines.add(new Engine(algorithm, workEstimate));
+    }
+
+    public synchronized List<String> getEngineNames() {
+        List<String> names = new ArrayList<>();
+        for (Engine engine : engines) {
+            names.add(engine.algorithm.getName());
+        }
+        return names;
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph.toCompact());
+    }
+
+    @Override
+    public MSTResult findMST(CompactGraph graph) {
+        GraphFeatures features = GraphFeatures.of(graph);
+        Choice choice = choose(features);
+        MSTResult result = choice.engine.algorithm.findMST(graph);
+        return result.withSelectionReason(choice.describe(features));
+    }
+
+    public String choose(Graph graph) {
+        return choose(graph.toCompact());
+    }
+
+    public String choose(CompactGraph graph) {
+        return choose(GraphFeatures.of(graph)).engine.algorithm.getName();
+    }
+
+    public void calibrate() {
+        List<CompactGraph> samples = new ArrayList<>();
+        Random random = new Random(42);
+        int[][] shapes = {
+                {200, 1_000}, {200, 15_000}, {2_000, 8_000}, {1_000, 200_000},
+                {10_000, 40_000}, {10_000, 150_000}, {50_000, 200_000}
+        };
+        for (int[] shape : shapes) {
+            samples.add(randomGraph(shape[0], shape[1], 50, random));
+            samples.add(randomGraph(shape[0], shape[1], 1_000_000, random));
+        }
+        calibrate(samples, 3);
+    }
+
+    public void calibrate(List<CompactGraph> samples, int repetitions) {
+        for (Engine engine : snapshot()) {
+            List<double[]> points = new ArrayList<>();
+            for (CompactGraph sample : samples) {
+                GraphFeatures features = GraphFeatures.of(sample);
+                double work = engine.workEstimate.applyAsDouble(features);
+                if (Double.isInfinite(work)) {
+                    continue;
+                }
+                engine.algorithm.findMST(sample);
+                double[] times = new double[Math.max(1, repetitions)];
+                for (int r = 0; r < times.length; r++) {
+                    long start = System.nanoTime();
+                    engine.algorithm.findMST(sample);
+                    times[r] = (System.nanoTime() - start) / 1_000_000.0;
+                }
+                Arrays.sort(times);
+                points.add(new double[]{work, times[times.length / 2]});
+            }
+            engine.fit(points);
+        }
+    }
+
+    /** Writes the fitted model of every engine to {@code file}. */
+    public void saveCalibration(Path file) throws IOException {
+        Properties model = new Properties();
+        model.setProperty("cores", Integer.toString(Runtime.getRuntime().availableProcessors()));
+        for (Engine engine : snapshot()) {
+            String name = engine.algorithm.getName();
+            model.setProperty(name + ".fixed_ms", Double.toString(engine.fixedMs));
+            model.setProperty(name + ".ms_per_unit", Double.toString(engine.msPerUnit));
+            model.setProperty(name + ".calibrated", Boolean.toString(engine.calibrated));
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            model.store(writer, "AutoMSTSolver cost model");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a model written by {@link #saveCalibration}. Returns false, changing nothing, when the
+     * file is missing, was fitted with a different core count, or lacks a registered engine; the
+     * caller should {@link #calibrate} instead.
+     */
+    public boolean loadCalibration(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        Properties model = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            model.load(reader);
+        }
+        if (!Integer.toString(Runtime.getRuntime().availableProcessors()).equals(model.getProperty("cores"))) {
+            return false;
+        }
+        List<Engine> engines = snapshot();
+        double[][] fits = new double[engines.size()][];
+        for (int i = 0; i < fits.length; i++) {
+            String name = engines.get(i).algorithm.getName();
+            String fixedMs = model.getProperty(name + ".fixed_ms");
+            String msPerUnit = model.getProperty(name + ".ms_per_unit");
+            if (fixedMs == null || msPerUnit == null) {
+                return false;
+            }
+            try {
+                fits[i] = new double[]{Double.parseDouble(fixedMs), Double.parseDouble(msPerUnit),
+                        Boolean.parseBoolean(model.getProperty(name + ".calibrated")) ? 1 : 0};
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        for (int i = 0; i < fits.length; i++) {
+            engines.get(i).set(fits[i][0], fits[i][1], fits[i][2] != 0);
+        }
+        return true;
+    }
+
+    private Choice choose(GraphFeatures features) {
+        Engine best = null;
+        double bestMs = Double.POSITIVE_INFINITY;
+        double runnerUpMs = Double.POSITIVE_INFINITY;
+        String runnerUp = null;
+        for (Engine engine : snapshot()) {
+            double predicted = engine.predict(features);
+            if (best == null || predicted < bestMs) {
+                if (best != null) {
+                    runnerUp = best.algorithm.getName();
+                    runnerUpMs = bestMs;
+                }
+                best = engine;
+                bestMs = predicted;
+            } else if (predicted < runnerUpMs) {
+                runnerUp = engine.algorithm.getName();
+                runnerUpMs = predicted;
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("No MST engines registered");
+        }
+        return new Choice(best, bestMs, runnerUp, runnerUpMs);
+    }
+
+    private synchronized List<Engine> snapshot() {
+        return new ArrayList<>(engines);
+    }
+
+    private static CompactGraph randomGraph(int vertexCount, int edgeCount, int maxWeight, Random random) {
+        List<String> nodes = new ArrayList<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            nodes.add("N" + i);
+        }
+        CompactGraph.Builder builder = new CompactGraph.Builder(nodes, edgeCount);
+        for (int i = 1; i < vertexCount; i++) {
+            builder.addEdge(random.nextInt(i), i, random.nextInt(maxWeight) + 1);
+        }
+        for (int i = vertexCount - 1; i < edgeCount; i++) {
+            builder.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount), random.nextInt(maxWeight) + 1);
+        }
+        return builder.build();
+    }
+
+    private static double log2(double x) {
+        return x <= 1 ? 0.0 : Math.log(x) / Math.log(2);
+    }
+
+    private static class Engine {
+        final MSTAlgorithm algorithm;
+        final ToDoubleFunction<GraphFeatures> workEstimate;
+        volatile double fixedMs = 0.0;
+        volatile double msPerUnit = 1.0;
+        volatile boolean calibrated = false;
+
+        Engine(MSTAlgorithm algorithm, ToDoubleFunction<GraphFeatures> workEstimate) {
+            this.algorithm = algorithm;
+            this.workEstimate = workEstimate;
+        }
+
+        double predict(GraphFeatures features) {
+            double work = workEstimate.applyAsDouble(features);
+            return Double.isInfinite(work) ? work : fixedMs + msPerUnit * work;
+        }
+
+        void fit(List<double[]> points) {
+            if (points.isEmpty()) {
+                return;
+            }
+            double meanX = 0;
+            double meanY = 0;
+            for (double[] p : points) {
+                meanX += p[0];
+                meanY += p[1];
+            }
+            meanX /= points.size();
+            meanY /= points.size();
+
+            double covariance = 0;
+            double variance = 0;
+            for (double[] p : points) {
+                covariance += (p[0] - meanX) * (p[1] - meanY);
+                variance += (p[0] - meanX) * (p[0] - meanX);
+            }
+
+            double slope = variance > 0 ? covariance / variance : 0;
+            double intercept = meanY - slope * meanX;
+            if (slope <= 0 || intercept < 0) {
+                slope = meanX > 0 ? meanY / meanX : 1.0;
+                intercept = 0;
+            }
+            set(intercept, slope, true);
+        }
+
+        void set(double fixedMs, double msPerUnit, boolean calibrated) {
+            this.fixedMs = fixedMs;
+            this.msPerUnit = msPerUnit;
+            this.calibrated = calibrated;
+        }
+    }
+
+    private static class Choice {
+        final Engine engine;
+        final double predictedMs;
+        final String runnerUp;
+        final double runnerUpMs;
+
+        Choice(Engine engine, double predictedMs, String runnerUp, double runnerUpMs) {
+            this.engine = engine;
+            this.predictedMs = predictedMs;
+            this.runnerUp = runnerUp;
+            this.runnerUpMs = runnerUpMs;
+        }
+
+        String describe(GraphFeatures features) {
+            String unit = engine.calibrated ? "ms" : "work units";
+            String reason = String.format("%s predicted %.3f %s for %s", engine.algorithm.getName(),
+                    predictedMs, unit, features);
+            if (runnerUp != null) {
+                reason += String.format("; next best %s at %.3f %s", runnerUp, runnerUpMs, unit);
+            }
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package algorithms;
+
+import graph.CompactGraph;
+import graph.Edge;
+import graph.Graph;
+import models.MSTResult;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel Borůvka. Each round every component picks its cheapest outgoing edge, compared by
+ * (weight, edge index) so ties resolve the same way on every run, then all picks are contracted:
+ * components hook onto their neighbor across the picked edge, pointer jumping finds each new
+ * root, and vertices are relabeled and self-loop edges dropped, all in parallel above a size
+ * threshold.
+ */
+public class BoruvkaAlgorithm implements MSTAlgorithm {
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    private static final int CHUNK = 1 << 12;
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final ForkJoinPool pool;
+
+    public BoruvkaAlgorithm() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BoruvkaAlgorithm(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public String getName() {
+        return "Boruvka";
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph.toCompact());
+    }
+
+    @Override
+    public MSTResult findMST(CompactGraph graph) {
+        long operationsCount = 0;
+        long startTime = System.nanoTime();
+
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+
+        if (vertexCount == 0) {
+            return createEmptyResult(startTime);
+        }
+
+        SolverWorkspace workspace = SolverWorkspace.current();
+        int[] component = workspace.vertexInts(0, vertexCount);
+        int[] next = workspace.vertexInts(1, vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            component[v] = v;
+        }
+        int[] active = IntStream.range(0, vertexCount).toArray();
+
+        int[] liveEdges = IntStream.range(0, edgeCount)
+                .filter(e -> graph.getEdgeFrom(e) != graph.getEdgeTo(e))
+                .toArray();
+        AtomicLongArray cheapest = new AtomicLongArray(vertexCount);
+        boolean[] keep = new boolean[Math.max(vertexCount, liveEdges.length)];
+
+        List<Edge> mstEdges = new ArrayList<>();
+        int totalCost = 0;
+
+        while (active.length > 1 && liveEdges.length > 0) {
+            int[] components = active;
+            run(components.length, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    cheapest.set(components[i], NONE);
+                }
+            });
+
+            int[] edges = liveEdges;
+            run(edges.length, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    int edge = edges[i];
+                    long key = ((long) graph.getEdgeWeight(edge) << 32) | edge;
+                    offerMin(cheapest, component[graph.getEdgeFrom(edge)], key);
+                    offerMin(cheapest, component[graph.getEdgeTo(edge)], key);
+                }
+            });
+            operationsCount += 2L * edges.length;
+
+            // hook each component onto the one across its cheapest edge; keys are distinct, so the
+            // only cycles are pairs that picked the same edge, and the smaller label of a pair is the root
+            run(components.length, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    int c = components[i];
+                    long key = cheapest.get(c);
+                    int other = c;
+                    if (key != NONE) {
+                        int from = component[graph.getEdgeFrom((int) key)];
+                        int to = component[graph.getEdgeTo((int) key)];
+                        other = from == c ? to : from;
+                        if (cheapest.get(other) == key && c < other) {
+                            other = c;
+                        }
+                    }
+                    next[c] = other;
+                    keep[i] = other != c;
+                }
+            });
+            int[] hooked = compact(components, keep);
+            if (hooked.length == 0) {
+                break;
+            }
+            for (int c : hooked) {
+                int edge = (int) cheapest.get(c);
+                mstEdges.add(graph.toEdge(edge));
+                totalCost += graph.getEdgeWeight(edge);
+            }
+            operationsCount += 2L * components.length;
+
+            // pointer jumping until every component points at its root
+            long moved;
+            do {
+                moved = sum(components.length, (lo, hi) -> {
+                    int changed = 0;
+                    for (int i = lo; i < hi; i++) {
+                        int c = components[i];
+                        int grandparent = next[next[c]];
+                        if (next[c] != grandparent) {
+                            next[c] = grandparent;
+                            changed++;
+                        }
+                    }
+                    return changed;
+                });
+                operationsCount += components.length;
+            } while (moved > 0);
+
+            run(components.length, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    keep[i] = next[components[i]] == components[i];
+                }
+            });
+            active = compact(components, keep);
+            run(vertexCount, (lo, hi) -> {
+                for (int v = lo; v < hi; v++) {
+                    component[v] = next[component[v]];
+                }
+            });
+            run(edges.length, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    keep[i] = component[graph.getEdgeFrom(edges[i])] != component[graph.getEdgeTo(edges[i])];
+                }
+            });
+            liveEdges = compact(edges, keep);
+            operationsCount += vertexCount + edges.length;
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        return new MSTResult("Boruvka", mstEdges, totalCost, vertexCount,
+                edgeCount, operationsCount, executionTimeMs);
+    }
+
+    private static void offerMin(AtomicLongArray cheapest, int component, long key) {
+        long current = cheapest.get(component);
+        while (key < current && !cheapest.compareAndSet(component, current, key)) {
+            current = cheapest.get(component);
+        }
+    }
+
+    private void run(int count, RangeBody body) {
+        forEachChunk(count, c -> body.apply(c * CHUNK, Math.min(count, (c + 1) * CHUNK)));
+    }
+
+    private long sum(int count, RangeCount body) {
+        if (count < PARALLEL_THRESHOLD) {
+            return body.apply(0, count);
+        }
+        return pool.submit(() -> IntStream.range(0, chunks(count)).parallel()
+                .mapToLong(c -> body.apply(c * CHUNK, Math.min(count, (c + 1) * CHUNK))).sum()).join();
+    }
+
+    /** The values whose {@code keep} flag is set, in order; chunks are counted, then copied, in parallel. */
+    private int[] compact(int[] values, boolean[] keep) {
+        int count = values.length;
+        int[] starts = new int[chunks(count) + 1];
+        forEachChunk(count, c -> {
+            int kept = 0;
+            for (int i = c * CHUNK, end = Math.min(count, (c + 1) * CHUNK); i < end; i++) {
+                if (keep[i]) {
+                    kept++;
+                }
+            }
+            starts[c + 1] = kept;
+        });
+        for (int c = 1; c < starts.length; c++) {
+            starts[c] += starts[c - 1];
+        }
+        int[] result = new int[starts[starts.length - 1]];
+        forEachChunk(count, c -> {
+            int out = starts[c];
+            for (int i = c * CHUNK, end = Math.min(count, (c + 1) * CHUNK); i < end; i++) {
+                if (keep[i]) {
+                    result[out++] = values[i];
+                }
+            }
+        });
+        return result;
+    }
+
+    /** Runs {@code chunkBody} once per {@link #CHUNK}-sized slice of {@code [0, count)}. */
+    private void forEachChunk(int count, IntConsumer chunkBody) {
+        int chunks = chunks(count);
+        if (count < PARALLEL_THRESHOLD) {
+            for (int c = 0; c < chunks; c++) {
+                chunkBody.accept(c);
+            }
+        } else {
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunkBody)).join();
+        }
+    }
+
+    private static int chunks(int count) {
+        return (count + CHUNK - 1) / CHUNK;
+    }
+
+    /** Loop body over {@code [from, to)}; one call per chunk keeps the element loop inlined. */
+    private interface RangeBody {
+        void apply(int from, int to);
+    }
+
+    private interface RangeCount {
+        int apply(int from, int to);
+    }
+
+    private MSTResult createEmptyResult(long startTime) {
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        return new MSTResult("Boruvka", new ArrayList<>(), 0, 0, 0, 0, executionTimeMs);
+    }
+}
@@ -0,0 +1,196 @@
+package algorithms;
+
+import graph.Edge;
+import models.MSTResult;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Minimax path queries over a spanning tree or forest. Binary lifting tables store, for every
+ * node and every power of two, the ancestor that far up and the heaviest edge on the way, so
+ * {@code bottleneck} and {@code pathCost} are O(log V). The index is immutable after construction
+ * and safe for any number of concurrent readers.
+ */
+public class BottleneckIndex {
+    private static final int PARALLEL_BATCH = 1 << 12;
+    private static final int MAX_TABLE_SIZE = Integer.MAX_VALUE - 8;
+
+    private final Map<String, Integer> nodeIndex;
+    private final int vertexCount;
+    private final int levels;
+    private final int[] up;
+    private final int[] maxUp;
+    private final int[] depth;
+    private final int[] component;
+    private final long[] rootDistance;
+
+    public BottleneckIndex(List<String> nodes, MSTResult mst) {
+        int n = nodes.size();
+        this.vertexCount = n;
+        this.nodeIndex = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            nodeIndex.put(nodes.get(i), i);
+        }
+
+        List<Edge> edges = mst.getMstEdges();
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        int[] weight = new int[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            Edge edge = edges.get(e);
+            from[e] = indexOf(edge.getFrom());
+            to[e] = indexOf(edge.getTo());
+            weight[e] = edge.getWeight();
+        }
+        RootedForest forest = new RootedForest(n, from, to, weight, edges.size());
+
+        int levelCount = 1;
+        while ((1 << levelCount) < n) {
+            levelCount++;
+        }
+        long tableSize = (long) levelCount * n;
+        if (tableSize > MAX_TABLE_SIZE) {
+            throw new IllegalArgumentException("Too many nodes for a lifting table: " + n);
+        }
+        this.levels = levelCount;
+        this.up = new int[(int) tableSize];
+        this.maxUp = new int[(int) tableSize];
+        this.depth = forest.depth;
+        this.component = forest.root;
+        this.rootDistance = forest.rootDistance;
+        int[] order = forest.order;
+        for (int v = 0; v < n; v++) {
+            boolean isRoot = forest.parent[v] == RootedForest.NONE;
+            up[v] = isRoot ? v : forest.parent[v];
+            maxUp[v] = isRoot ? Integer.MIN_VALUE : forest.parentWeight[v];
+        }
+
+        for (int k = 1; k < levels; k++) {
+            int row = k * n;
+            int prev = (k - 1) * n;
+            for (int i = 0; i < n; i++) {
+                int v = order[i];
+                int mid = up[prev + v];
+                up[row + v] = up[prev + mid];
+                maxUp[row + v] = Math.max(maxUp[prev + v], maxUp[prev + mid]);
+            }
+        }
+    }
+
+    public int getNodeId(String node) {
+        Integer id = nodeIndex.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /** Heaviest edge weight on the tree path from {@code a} to {@code b}; 0 if equal, -1 if not connected. */
+    public int bottleneck(String a, String b) {
+        return bottleneck(indexOf(a), indexOf(b));
+    }
+
+    public int bottleneck(int a, int b) {
+        if (a == b) {
+            return 0;
+        }
+        if (component[a] != component[b]) {
+            return -1;
+        }
+        if (depth[a] < depth[b]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+
+        int result = Integer.MIN_VALUE;
+        int diff = depth[a] - depth[b];
+        for (int k = 0; diff != 0; k++, diff >>>= 1) {
+            if ((diff & 1) != 0) {
+                result = Math.max(result, maxUp[k * vertexCount + a]);
+                a = up[k * vertexCount + a];
+            }
+        }
+        if (a == b) {
+            return result;
+        }
+        for (int k = levels - 1; k >= 0; k--) {
+            int row = k * vertexCount;
+            if (up[row + a] != up[row + b]) {
+                result = Math.max(result, Math.max(maxUp[row + a], maxUp[row + b]));
+                a = up[row + a];
+                b = up[row + b];
+            }
+        }
+        return Math.max(result, Math.max(maxUp[a], maxUp[b]));
+    }
+
+    /** Total weight of the tree path from {@code a} to {@code b}, or -1 if not connected. */
+    public long pathCost(String a, String b) {
+        return pathCost(indexOf(a), indexOf(b));
+    }
+
+    public long pathCost(int a, int b) {
+        if (component[a] != component[b]) {
+            return -1;
+        }
+        return rootDistance[a] + rootDistance[b] - 2 * rootDistance[lca(a, b)];
+    }
+
+    /** Answers {@code from[i]–to[i]} for every i; large batches are split across the common pool. */
+    public int[] bottleneck(int[] from, int[] to) {
+        checkBatch(from, to);
+        int[] results = new int[from.length];
+        range(from.length).forEach(i -> results[i] = bottleneck(from[i], to[i]));
+        return results;
+    }
+
+    public long[] pathCost(int[] from, int[] to) {
+        checkBatch(from, to);
+        long[] results = new long[from.length];
+        range(from.length).forEach(i -> results[i] = pathCost(from[i], to[i]));
+        return results;
+    }
+
+    private int lca(int a, int b) {
+        if (depth[a] < depth[b]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        int diff = depth[a] - depth[b];
+        for (int k = 0; diff != 0; k++, diff >>>= 1) {
+            if ((diff & 1) != 0) {
+                a = up[k * vertexCount + a];
+            }
+        }
+        if (a == b) {
+            return a;
+        }
+        for (int k = levels - 1; k >= 0; k--) {
+            int row = k * vertexCount;
+            if (up[row + a] != up[row + b]) {
+                a = up[row + a];
+                b = up[row + b];
+            }
+        }
+        return up[a];
+    }
+
+    private static IntStream range(int count) {
+        IntStream range = IntStream.range(0, count);
+        return count >= PARALLEL_BATCH ? range.parallel() : range;
+    }
+
+    private static void checkBatch(int[] from, int[] to) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("Batch sizes differ: " + from.length + " and " + to.length);
+        }
+    }
+
+    private int indexOf(String node) {
+        Integer index = nodeIndex.get(node);
+        if (index == null) {
+            throw new IllegalArgumentException("Invalid node: " + node);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,138 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint-set forest over int ids {@code 0..size-1}. Union by size, iterative path halving,
+ * so find never recurses. Not thread-safe.
+ */
+public class DisjointSet {
+    private int[] parent;
+    private int[] setSize;
+    private int elementCount;
+    private int componentCount;
+
+    private long findCount;
+    private long totalFindDepth;
+    private int maxFindDepth;
+
+    public DisjointSet(int size) {
+        parent = new int[size];
+        setSize = new int[size];
+        reset(size);
+    }
+
+    public void reset(int size) {
+        if (parent.length < size) {
+            parent = new int[size];
+            setSize = new int[size];
+        }
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+        Arrays.fill(setSize, 0, size, 1);
+        elementCount = size;
+        componentCount = size;
+        resetStats();
+    }
+
+    public int find(int x) {
+        int depth = 0;
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+            depth++;
+        }
+        findCount++;
+        totalFindDepth += depth;
+        if (depth > maxFindDepth) {
+            maxFindDepth = depth;
+        }
+        return x;
+    }
+
+    /**
+     * Root lookup without path compression or stats. Safe for concurrent callers as long as
+     * no union runs at the same time.
+     */
+    public int peekRoot(int x) {
+        while (parent[x] != x) {
+            x = parent[x];
+        }
+        return x;
+    }
+
+    public boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+
+        if (rootX == rootY) {
+            return false;
+        }
+
+        if (setSize[rootX] < setSize[rootY]) {
+            int temp = rootX;
+            rootX = rootY;
+            rootY = temp;
+        }
+        parent[rootY] = rootX;
+        setSize[rootX] += setSize[rootY];
+        componentCount--;
+        return true;
+    }
+
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    public boolean[] connected(int[] xs, int[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Query arrays differ in length: " + xs.length + " vs " + ys.length);
+        }
+        boolean[] answers = new boolean[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            answers[i] = find(xs[i]) == find(ys[i]);
+        }
+        return answers;
+    }
+
+    public int size() {
+        return elementCount;
+    }
+
+    public int setSize(int x) {
+        return setSize[find(x)];
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public long getFindCount() {
+        return findCount;
+    }
+
+    public long getTotalFindDepth() {
+        return totalFindDepth;
+    }
+
+    public int getMaxFindDepth() {
+        return maxFindDepth;
+    }
+
+    public double getAverageFindDepth() {
+        return findCount == 0 ? 0.0 : (double) totalFindDepth / findCount;
+    }
+
+    public void resetStats() {
+        findCount = 0;
+        totalFindDepth = 0;
+        maxFindDepth = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DisjointSet{size=%d, components=%d, finds=%d, avgDepth=%.2f, maxDepth=%d}",
+                elementCount, componentCount, findCount, getAverageFindDepth(), maxFindDepth);
+    }
+}
@@ -0,0 +1,361 @@
+package algorithms;
+
+import graph.Edge;
+import models.MSTResult;
+
+import java.util.*;
+
+/**
+ * Minimum spanning forest that absorbs edge insertions and weight decreases without re-solving.
+ * The forest lives in a link-cut tree where every tree edge is its own node carrying the weight,
+ * so the heaviest edge on any tree path is an O(log V) amortized query. A new or cheaper edge
+ * replaces that heaviest edge when it is strictly lighter. Not thread-safe.
+ */
+public class DynamicMST {
+    private static final int NIL = 0;
+
+    private final List<String> nodes;
+    private final Map<String, Integer> nodeIndex;
+    private final Map<Long, Integer> treeEdges = new HashMap<>();
+    private final Deque<Integer> freeEdgeNodes = new ArrayDeque<>();
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] reversed;
+    private int[] value;
+    private int[] maxNode;
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private int[] splayPath;
+    private int nodeCount;
+
+    private long totalCost;
+
+    public DynamicMST(List<String> nodes, MSTResult seed) {
+        this.nodes = new ArrayList<>(nodes);
+        this.nodeIndex = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            nodeIndex.put(nodes.get(i), i);
+        }
+
+        int capacity = 2 * nodes.size() + 1;
+        left = new int[capacity];
+        right = new int[capacity];
+        parent = new int[capacity];
+        reversed = new boolean[capacity];
+        value = new int[capacity];
+        maxNode = new int[capacity];
+        edgeFrom = new int[capacity];
+        edgeTo = new int[capacity];
+        splayPath = new int[capacity];
+        nodeCount = nodes.size() + 1;
+        for (int x = 1; x < nodeCount; x++) {
+            value[x] = Integer.MIN_VALUE;
+            maxNode[x] = x;
+        }
+
+        for (Edge edge : seed.getMstEdges()) {
+            int u = indexOf(edge.getFrom());
+            int v = indexOf(edge.getTo());
+            if (u == v || connected(u + 1, v + 1)) {
+                throw new IllegalArgumentException("Seed edges do not form a forest at " + edge);
+            }
+            addTreeEdge(u, v, edge.getWeight());
+        }
+    }
+
+    /** Offers a new edge; it enters the forest if it joins two trees or beats the heaviest edge on its cycle. */
+    public Update insertEdge(String from, String to, int weight) {
+        int u = indexOf(from);
+        int v = indexOf(to);
+        if (u == v) {
+            return new Update(0, null, null);
+        }
+        if (!connected(u + 1, v + 1)) {
+            Edge added = addTreeEdge(u, v, weight);
+            return new Update(weight, added, null);
+        }
+
+        int heaviest = pathMax(u + 1, v + 1);
+        if (value[heaviest] <= weight) {
+            return new Update(0, null, null);
+        }
+        Edge removed = removeTreeEdge(heaviest);
+        Edge added = addTreeEdge(u, v, weight);
+        return new Update((long) weight - removed.getWeight(), added, removed);
+    }
+
+    /**
+     * Lowers the weight of edge {@code from–to}. A tree edge is updated in place; any other edge
+     * is offered as an insertion at its new weight, since its old weight never affected the forest.
+     * Edges are named by their endpoints only, so a new weight above the tree edge between the same
+     * endpoints is taken to belong to a parallel non-tree edge; use
+     * {@link #decreaseWeight(String, String, int, int)} when parallel edges must be told apart.
+     */
+    public Update decreaseWeight(String from, String to, int newWeight) {
+        Integer edgeNode = treeEdges.get(pairKey(indexOf(from), indexOf(to)));
+        if (edgeNode == null || newWeight > value[edgeNode]) {
+            return insertEdge(from, to, newWeight);
+        }
+        return decreaseWeight(from, to, value[edgeNode], newWeight);
+    }
+
+    /**
+     * Lowers the weight of the edge {@code from–to} that currently weighs {@code oldWeight}. It is
+     * the tree edge if the forest holds that pair at that weight, otherwise a non-tree edge.
+     */
+    public Update decreaseWeight(String from, String to, int oldWeight, int newWeight) {
+        if (newWeight > oldWeight) {
+            throw new IllegalArgumentException("New weight " + newWeight + " exceeds current weight " + oldWeight);
+        }
+        Integer edgeNode = treeEdges.get(pairKey(indexOf(from), indexOf(to)));
+        if (edgeNode == null || value[edgeNode] != oldWeight) {
+            return insertEdge(from, to, newWeight);
+        }
+        if (newWeight == oldWeight) {
+            return new Update(0, null, null);
+        }
+        splay(edgeNode);
+        value[edgeNode] = newWeight;
+        pushUp(edgeNode);
+        totalCost += (long) newWeight - oldWeight;
+        return new Update((long) newWeight - oldWeight, toEdge(edgeNode), new Edge(from, to, oldWeight));
+    }
+
+    /** Heaviest edge on the tree path between two nodes, or null if they are in different trees. */
+    public Edge maxEdgeOnPath(String from, String to) {
+        int u = indexOf(from);
+        int v = indexOf(to);
+        if (u == v || !connected(u + 1, v + 1)) {
+            return null;
+        }
+        return toEdge(pathMax(u + 1, v + 1));
+    }
+
+    public boolean connected(String from, String to) {
+        return connected(indexOf(from) + 1, indexOf(to) + 1);
+    }
+
+    public long getTotalCost() {
+        return totalCost;
+    }
+
+    public int getEdgeCount() {
+        return treeEdges.size();
+    }
+
+    public List<Edge> getEdges() {
+        List<Edge> edges = new ArrayList<>(treeEdges.size());
+        for (int edgeNode : treeEdges.values()) {
+            edges.add(toEdge(edgeNode));
+        }
+        return edges;
+    }
+
+    private Edge addTreeEdge(int u, int v, int weight) {
+        int edgeNode = allocateEdgeNode();
+        value[edgeNode] = weight;
+        maxNode[edgeNode] = edgeNode;
+        edgeFrom[edgeNode] = u;
+        edgeTo[edgeNode] = v;
+        link(u + 1, edgeNode);
+        link(edgeNode, v + 1);
+        treeEdges.put(pairKey(u, v), edgeNode);
+        totalCost += weight;
+        return toEdge(edgeNode);
+    }
+
+    private Edge removeTreeEdge(int edgeNode) {
+        Edge edge = toEdge(edgeNode);
+        cut(edgeFrom[edgeNode] + 1, edgeNode);
+        cut(edgeNode, edgeTo[edgeNode] + 1);
+        treeEdges.remove(pairKey(edgeFrom[edgeNode], edgeTo[edgeNode]));
+        totalCost -= edge.getWeight();
+        freeEdgeNodes.push(edgeNode);
+        return edge;
+    }
+
+    private int allocateEdgeNode() {
+        if (!freeEdgeNodes.isEmpty()) {
+            int edgeNode = freeEdgeNodes.pop();
+            left[edgeNode] = right[edgeNode] = parent[edgeNode] = NIL;
+            reversed[edgeNode] = false;
+            return edgeNode;
+        }
+        if (nodeCount == left.length) {
+            int capacity = left.length * 2;
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            reversed = Arrays.copyOf(reversed, capacity);
+            value = Arrays.copyOf(value, capacity);
+            maxNode = Arrays.copyOf(maxNode, capacity);
+            edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+            edgeTo = Arrays.copyOf(edgeTo, capacity);
+            splayPath = new int[capacity];
+        }
+        return nodeCount++;
+    }
+
+    private Edge toEdge(int edgeNode) {
+        return new Edge(nodes.get(edgeFrom[edgeNode]), nodes.get(edgeTo[edgeNode]), value[edgeNode]);
+    }
+
+    private int indexOf(String node) {
+        Integer index = nodeIndex.get(node);
+        if (index == null) {
+            throw new IllegalArgumentException("Invalid node: " + node);
+        }
+        return index;
+    }
+
+    private static long pairKey(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+
+    private boolean isRoot(int x) {
+        int p = parent[x];
+        return p == NIL || (left[p] != x && right[p] != x);
+    }
+
+    private void pushUp(int x) {
+        int best = x;
+        if (left[x] != NIL && value[maxNode[left[x]]] > value[best]) best = maxNode[left[x]];
+        if (right[x] != NIL && value[maxNode[right[x]]] > value[best]) best = maxNode[right[x]];
+        maxNode[x] = best;
+    }
+
+    private void flip(int x) {
+        int t = left[x];
+        left[x] = right[x];
+        right[x] = t;
+        reversed[x] = !reversed[x];
+    }
+
+    private void pushDown(int x) {
+        if (reversed[x]) {
+            if (left[x] != NIL) flip(left[x]);
+            if (right[x] != NIL) flip(right[x]);
+            reversed[x] = false;
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        boolean pWasRoot = isRoot(p);
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NIL) parent[right[x]] = p;
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NIL) parent[left[x]] = p;
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!pWasRoot) {
+            if (left[g] == p) left[g] = x;
+            else right[g] = x;
+        }
+        pushUp(p);
+        pushUp(x);
+    }
+
+    private void splay(int x) {
+        int depth = 0;
+        splayPath[depth++] = x;
+        for (int y = x; !isRoot(y); y = parent[y]) {
+            splayPath[depth++] = parent[y];
+        }
+        while (depth > 0) {
+            pushDown(splayPath[--depth]);
+        }
+
+        while (!isRoot(x)) {
+            int p = parent[x];
+            if (!isRoot(p)) {
+                int g = parent[p];
+                boolean zigZig = (left[g] == p) == (left[p] == x);
+                rotate(zigZig ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    private void access(int x) {
+        int last = NIL;
+        for (int y = x; y != NIL; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pushUp(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        flip(x);
+    }
+
+    private int findRoot(int x) {
+        access(x);
+        int root = x;
+        pushDown(root);
+        while (left[root] != NIL) {
+            root = left[root];
+            pushDown(root);
+        }
+        splay(root);
+        return root;
+    }
+
+    private boolean connected(int x, int y) {
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    private void link(int x, int y) {
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    private void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        left[y] = NIL;
+        parent[x] = NIL;
+        pushUp(y);
+    }
+
+    private int pathMax(int x, int y) {
+        makeRoot(x);
+        access(y);
+        return maxNode[y];
+    }
+
+    /** Outcome of one update: the change in total cost and the edges that entered or left the forest. */
+    public static class Update {
+        private final long costDelta;
+        private final Edge added;
+        private final Edge removed;
+
+        public Update(long costDelta, Edge added, Edge removed) {
+            this.costDelta = costDelta;
+            this.added = added;
+            this.removed = removed;
+        }
+
+        public long getCostDelta() { return costDelta; }
+        public Edge getAdded() { return added; }
+        public Edge getRemoved() { return removed; }
+        public boolean changed() { return added != null || removed != null; }
+
+        @Override
+        public String toString() {
+            return String.format("Update{delta=%d, added=%s, removed=%s}", costDelta, added, removed);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Orders edge indices by weight without touching edge objects. Every strategy is stable,
+ * so equal weights keep their input order.
+ */
+public final class EdgeSorter {
+    public enum Strategy { AUTO, COUNTING, RADIX, PARALLEL }
+
+    static final int COUNTING_MIN_RANGE = 1 << 10;
+    static final int PARALLEL_THRESHOLD = 1 << 18;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX_BUCKETS = 1 << RADIX_BITS;
+
+    private EdgeSorter() {
+    }
+
+    public static int[] sortedOrder(int[] weights, int count) {
+        return sortedOrder(weights, count, Strategy.AUTO);
+    }
+
+    public static int[] sortedOrder(int[] weights, int count, Strategy strategy) {
+        int[] order = new int[count];
+        sort(weights, count, strategy, order, new SolverWorkspace());
+        return order;
+    }
+
+    /** Writes the stable weight order of the first {@code count} edges into {@code order}. */
+    public static void sort(int[] weights, int count, Strategy strategy, int[] order, SolverWorkspace workspace) {
+        if (count == 0) {
+            return;
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int w = weights[i];
+            if (w < min) min = w;
+            if (w > max) max = w;
+        }
+
+        switch (resolve(strategy, count, (long) max - min + 1)) {
+            case COUNTING:
+                countingSort(weights, count, min, max, order, workspace);
+                break;
+            case PARALLEL:
+                parallelSort(weights, count, order, workspace);
+                break;
+            default:
+                radixSort(weights, count, order, workspace);
+                break;
+        }
+    }
+
+    public static Strategy resolve(Strategy strategy, int count, long weightRange) {
+        if (strategy != Strategy.AUTO) {
+            return strategy;
+        }
+        if (weightRange <= Math.max(COUNTING_MIN_RANGE, count)) {
+            return Strategy.COUNTING;
+        }
+        if (count >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1) {
+            return Strategy.PARALLEL;
+        }
+        return Strategy.RADIX;
+    }
+
+    private static void countingSort(int[] weights, int count, int min, int max, int[] order,
+                                     SolverWorkspace workspace) {
+        long range = (long) max - min + 1;
+        if (range > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Weight range too large for counting sort: " + range);
+        }
+        int bucketCount = (int) range + 1;
+        int[] buckets = workspace.sortBuckets(bucketCount);
+        Arrays.fill(buckets, 0, bucketCount, 0);
+        for (int i = 0; i < count; i++) {
+            buckets[weights[i] - min + 1]++;
+        }
+        for (int b = 1; b < bucketCount; b++) {
+            buckets[b] += buckets[b - 1];
+        }
+        for (int i = 0; i < count; i++) {
+            order[buckets[weights[i] - min]++] = i;
+        }
+    }
+
+    private static void radixSort(int[] weights, int count, int[] order, SolverWorkspace workspace) {
+        int[] keys = workspace.sortKeys(count);
+        int[] indices = order;
+        for (int i = 0; i < count; i++) {
+            keys[i] = weights[i] ^ Integer.MIN_VALUE;
+            indices[i] = i;
+        }
+
+        int[] keyBuffer = workspace.sortKeyBuffer(count);
+        int[] indexBuffer = workspace.sortIndexBuffer(count);
+        int[] buckets = workspace.sortBuckets(RADIX_BUCKETS + 1);
+
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(buckets, 0, RADIX_BUCKETS + 1, 0);
+            for (int i = 0; i < count; i++) {
+                buckets[((keys[i] >>> shift) & (RADIX_BUCKETS - 1)) + 1]++;
+            }
+            if (singleBucket(buckets, count)) {
+                continue;
+            }
+            for (int b = 1; b <= RADIX_BUCKETS; b++) {
+                buckets[b] += buckets[b - 1];
+            }
+            for (int i = 0; i < count; i++) {
+                int slot = buckets[(keys[i] >>> shift) & (RADIX_BUCKETS - 1)]++;
+                keyBuffer[slot] = keys[i];
+                indexBuffer[slot] = indices[i];
+            }
+
+            int[] temp = keys;
+            keys = keyBuffer;
+            keyBuffer = temp;
+            temp = indices;
+            indices = indexBuffer;
+            indexBuffer = temp;
+        }
+
+        if (indices != order) {
+            System.arraycopy(indices, 0, order, 0, count);
+        }
+    }
+
+    private static boolean singleBucket(int[] buckets, int count) {
+        for (int b = 1; b <= RADIX_BUCKETS; b++) {
+            if (buckets[b] == count) {
+                return true;
+            }
+            if (buckets[b] != 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static void parallelSort(int[] weights, int count, int[] order, SolverWorkspace workspace) {
+        long[] packed = workspace.sortPacked(count);
+        for (int i = 0; i < count; i++) {
+            packed[i] = ((long) weights[i] << 32) | i;
+        }
+        Arrays.parallelSort(packed, 0, count);
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) packed[i];
+        }
+    }
+}
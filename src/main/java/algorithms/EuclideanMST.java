@@ -0,0 +1,380 @@
+package algorithms;
+
+import graph.Edge;
+import models.MSTResult;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * MST of points in the plane or on the globe without building the complete graph. Borůvka rounds
+ * ask a k-d tree for every point's nearest neighbour in another component; subtrees whose points
+ * all share the query's component are skipped, and so are subtrees farther away than the best edge
+ * the component has found so far. Each round is O(V log V) and there are at most log V rounds.
+ * Haversine inputs are (latitude, longitude) in degrees and are searched as 3D unit vectors, whose
+ * chord length orders pairs exactly like great-circle distance. Edge weights are distances (metres
+ * for haversine) times {@code weightScale}, rounded to int; the total cost must fit an int too.
+ */
+public class EuclideanMST {
+    public enum Metric { EUCLIDEAN, HAVERSINE }
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final int LEAF_SIZE = 8;
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+    private static final int NONE = -1;
+
+    private final Metric metric;
+    private final double weightScale;
+
+    public EuclideanMST() {
+        this(Metric.EUCLIDEAN, 1.0);
+    }
+
+    public EuclideanMST(Metric metric, double weightScale) {
+        if (!(weightScale > 0)) {
+            throw new IllegalArgumentException("Weight scale must be positive");
+        }
+        this.metric = metric;
+        this.weightScale = weightScale;
+    }
+
+    public String getName() {
+        return metric == Metric.HAVERSINE ? "Haversine-MST" : "Euclidean-MST";
+    }
+
+    /** {@code x} and {@code y} are planar coordinates, or latitude and longitude for {@link Metric#HAVERSINE}. */
+    public MSTResult findMST(List<String> nodes, double[] x, double[] y) {
+        long startTime = System.nanoTime();
+        int n = nodes.size();
+        if (x.length != n || y.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " coordinates, got " + x.length + " and " + y.length);
+        }
+
+        int dims = metric == Metric.HAVERSINE ? 3 : 2;
+        double[] points = new double[n * dims];
+        for (int i = 0; i < n; i++) {
+            if (metric == Metric.HAVERSINE) {
+                double lat = Math.toRadians(x[i]);
+                double lon = Math.toRadians(y[i]);
+                points[3 * i] = Math.cos(lat) * Math.cos(lon);
+                points[3 * i + 1] = Math.cos(lat) * Math.sin(lon);
+                points[3 * i + 2] = Math.sin(lat);
+            } else {
+                points[2 * i] = x[i];
+                points[2 * i + 1] = y[i];
+            }
+        }
+
+        KdTree tree = new KdTree(points, dims, n);
+        DisjointSet components = new DisjointSet(n);
+        int[] component = new int[n];
+        double[] bestDistance = new double[n];
+        int[] bestNeighbor = new int[n];
+        int[] componentBest = new int[n];
+        long[] distanceChecks = new long[n];
+        AtomicLongArray componentBound = new AtomicLongArray(n);
+
+        List<Edge> mstEdges = new ArrayList<>();
+        long totalCost = 0;
+        long operationsCount = 0;
+
+        while (components.getComponentCount() > 1) {
+            for (int i = 0; i < n; i++) {
+                component[i] = components.find(i);
+            }
+            tree.labelComponents(component);
+            for (int i = 0; i < n; i++) {
+                componentBound.set(i, Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+            }
+
+            IntStream queries = IntStream.range(0, n);
+            (n >= PARALLEL_THRESHOLD ? queries.parallel() : queries).forEach(k -> {
+                int i = tree.pointAt(k);
+                bestDistance[i] = Double.POSITIVE_INFINITY;
+                bestNeighbor[i] = NONE;
+                distanceChecks[i] = tree.nearestForeign(i, component, bestDistance, bestNeighbor, componentBound);
+            });
+
+            Arrays.fill(componentBest, NONE);
+            for (int i = 0; i < n; i++) {
+                operationsCount += distanceChecks[i];
+                if (bestNeighbor[i] == NONE) {
+                    continue;
+                }
+                int c = component[i];
+                if (componentBest[c] == NONE || closer(i, componentBest[c], bestDistance, bestNeighbor)) {
+                    componentBest[c] = i;
+                }
+            }
+
+            boolean merged = false;
+            for (int c = 0; c < n; c++) {
+                int i = componentBest[c];
+                if (i == NONE) {
+                    continue;
+                }
+                int j = bestNeighbor[i];
+                if (components.union(i, j)) {
+                    int weight = weight(bestDistance[i]);
+                    mstEdges.add(new Edge(nodes.get(i), nodes.get(j), weight));
+                    totalCost += weight;
+                    merged = true;
+                }
+            }
+            if (!merged) {
+                break;
+            }
+        }
+
+        if (totalCost > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Total cost " + totalCost + " overflows int; lower the weight scale");
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        int impliedEdges = (int) Math.min(Integer.MAX_VALUE, (long) n * (n - 1) / 2);
+
+        return new MSTResult(getName(), mstEdges, (int) totalCost, n, impliedEdges, operationsCount, executionTimeMs);
+    }
+
+    /** Orders candidate edges by (distance, smaller endpoint, larger endpoint) so ties never form cycles. */
+    private static boolean closer(int a, int b, double[] bestDistance, int[] bestNeighbor) {
+        int c = Double.compare(bestDistance[a], bestDistance[b]);
+        if (c != 0) {
+            return c < 0;
+        }
+        int aLow = Math.min(a, bestNeighbor[a]);
+        int bLow = Math.min(b, bestNeighbor[b]);
+        if (aLow != bLow) {
+            return aLow < bLow;
+        }
+        return Math.max(a, bestNeighbor[a]) < Math.max(b, bestNeighbor[b]);
+    }
+
+    private int weight(double squaredDistance) {
+        double distance = Math.sqrt(squaredDistance);
+        if (metric == Metric.HAVERSINE) {
+            distance = 2 * Math.asin(Math.min(1.0, distance / 2)) * EARTH_RADIUS_METERS;
+        }
+        long rounded = Math.round(distance * weightScale);
+        if (rounded > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Edge weight overflows int; lower the weight scale");
+        }
+        return (int) rounded;
+    }
+
+    /** Median-split k-d tree stored in flat arrays; node 0 is the root and children follow their parent. */
+    private static class KdTree {
+        private final double[] points;
+        private final int dims;
+        private final int[] order;
+        private int[] start;
+        private int[] end;
+        private int[] left;
+        private int[] right;
+        private double[] boxMin;
+        private double[] boxMax;
+        private int[] nodeComponent;
+        private int nodeCount;
+
+        KdTree(double[] points, int dims, int n) {
+            this.points = points;
+            this.dims = dims;
+            this.order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            int capacity = Math.max(1, 4 * (n / LEAF_SIZE + 1));
+            start = new int[capacity];
+            end = new int[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            boxMin = new double[capacity * dims];
+            boxMax = new double[capacity * dims];
+            build(0, n);
+            nodeComponent = new int[nodeCount];
+        }
+
+        private int build(int from, int to) {
+            int node = nodeCount++;
+            if (node == start.length) {
+                grow();
+            }
+            start[node] = from;
+            end[node] = to;
+            for (int d = 0; d < dims; d++) {
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                for (int k = from; k < to; k++) {
+                    double value = points[order[k] * dims + d];
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+                boxMin[node * dims + d] = min;
+                boxMax[node * dims + d] = max;
+            }
+
+            if (to - from <= LEAF_SIZE) {
+                left[node] = NONE;
+                right[node] = NONE;
+                return node;
+            }
+            int axis = widestAxis(node);
+            int mid = (from + to) >>> 1;
+            select(from, to - 1, mid, axis);
+            int l = build(from, mid);
+            int r = build(mid, to);
+            left[node] = l;
+            right[node] = r;
+            return node;
+        }
+
+        private int widestAxis(int node) {
+            int axis = 0;
+            double widest = -1;
+            for (int d = 0; d < dims; d++) {
+                double extent = boxMax[node * dims + d] - boxMin[node * dims + d];
+                if (extent > widest) {
+                    widest = extent;
+                    axis = d;
+                }
+            }
+            return axis;
+        }
+
+        private void select(int lo, int hi, int k, int axis) {
+            while (lo < hi) {
+                double pivot = points[order[(lo + hi) >>> 1] * dims + axis];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (points[order[i] * dims + axis] < pivot) i++;
+                    while (points[order[j] * dims + axis] > pivot) j--;
+                    if (i <= j) {
+                        int t = order[i];
+                        order[i] = order[j];
+                        order[j] = t;
+                        i++;
+                        j--;
+                    }
+                }
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private void grow() {
+            int capacity = start.length * 2;
+            start = Arrays.copyOf(start, capacity);
+            end = Arrays.copyOf(end, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            boxMin = Arrays.copyOf(boxMin, capacity * dims);
+            boxMax = Arrays.copyOf(boxMax, capacity * dims);
+        }
+
+        /** Points in tree order, so consecutive queries are spatially close. */
+        int pointAt(int k) {
+            return order[k];
+        }
+
+        /** Marks each node with the component all its points share, or {@link #NONE} if mixed. */
+        void labelComponents(int[] component) {
+            for (int node = nodeCount - 1; node >= 0; node--) {
+                if (left[node] == NONE) {
+                    int label = component[order[start[node]]];
+                    for (int k = start[node] + 1; k < end[node] && label != NONE; k++) {
+                        if (component[order[k]] != label) {
+                            label = NONE;
+                        }
+                    }
+                    nodeComponent[node] = label;
+                } else {
+                    int l = nodeComponent[left[node]];
+                    nodeComponent[node] = l == nodeComponent[right[node]] ? l : NONE;
+                }
+            }
+        }
+
+        /** Updates the nearest point to {@code query} outside its component; returns the number of distance checks. */
+        long nearestForeign(int query, int[] component, double[] bestDistance, int[] bestNeighbor,
+                            AtomicLongArray componentBound) {
+            return visit(0, boxDistance(0, query), query, component, bestDistance, bestNeighbor, componentBound);
+        }
+
+        private long visit(int node, double box, int query, int[] component, double[] bestDistance,
+                           int[] bestNeighbor, AtomicLongArray componentBound) {
+            int own = component[query];
+            if (nodeComponent[node] == own || box > bestDistance[query]
+                    || box > Double.longBitsToDouble(componentBound.get(own))) {
+                return 0;
+            }
+            if (left[node] == NONE) {
+                long checks = 0;
+                for (int k = start[node]; k < end[node]; k++) {
+                    int candidate = order[k];
+                    if (component[candidate] == own) {
+                        continue;
+                    }
+                    double distance = distance(query, candidate);
+                    checks++;
+                    if (distance < bestDistance[query]
+                            || (distance == bestDistance[query] && candidate < bestNeighbor[query])) {
+                        bestDistance[query] = distance;
+                        bestNeighbor[query] = candidate;
+                        lowerBound(componentBound, own, distance);
+                    }
+                }
+                return checks;
+            }
+            int near = left[node];
+            int far = right[node];
+            double nearBox = boxDistance(near, query);
+            double farBox = boxDistance(far, query);
+            if (farBox < nearBox) {
+                near = right[node];
+                far = left[node];
+                double t = nearBox;
+                nearBox = farBox;
+                farBox = t;
+            }
+            return visit(near, nearBox, query, component, bestDistance, bestNeighbor, componentBound)
+                    + visit(far, farBox, query, component, bestDistance, bestNeighbor, componentBound);
+        }
+
+        private static void lowerBound(AtomicLongArray bounds, int component, double distance) {
+            long bits = Double.doubleToLongBits(distance);
+            long current = bounds.get(component);
+            while (bits < current && !bounds.compareAndSet(component, current, bits)) {
+                current = bounds.get(component);
+            }
+        }
+
+        private double distance(int a, int b) {
+            double sum = 0;
+            for (int d = 0; d < dims; d++) {
+                double diff = points[a * dims + d] - points[b * dims + d];
+                sum += diff * diff;
+            }
+            return sum;
+        }
+
+        private double boxDistance(int node, int query) {
+            double sum = 0;
+            for (int d = 0; d < dims; d++) {
+                double value = points[query * dims + d];
+                double below = boxMin[node * dims + d] - value;
+                double above = value - boxMax[node * dims + d];
+                double gap = Math.max(0, Math.max(below, above));
+                sum += gap * gap;
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package algorithms;
+
+import graph.CompactGraph;
+import graph.Edge;
+import graph.Graph;
+import models.MSTResult;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Filter-Kruskal: quicksort-partitions edges around a pivot, solves the light half first and
+ * drops heavy edges that already lie inside one component before touching them again.
+ * Edges are ordered by (weight, edge index), the same order plain Kruskal uses.
+ */
+public class FilterKruskalAlgorithm implements MSTAlgorithm {
+    private static final int BASE_CASE_SIZE = 1 << 10;
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int MIN_CHUNK = 1 << 13;
+
+    private final ForkJoinPool pool;
+
+    public FilterKruskalAlgorithm() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public FilterKruskalAlgorithm(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public String getName() {
+        return "Filter-Kruskal";
+    }
+
+    @Override
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph.toCompact());
+    }
+
+    @Override
+    public MSTResult findMST(CompactGraph graph) {
+        long startTime = System.nanoTime();
+
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+
+        if (vertexCount == 0) {
+            return createEmptyResult(startTime);
+        }
+
+        SolverWorkspace workspace = SolverWorkspace.current();
+        long[] keys = workspace.edgeLongs(0, edgeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            keys[e] = ((long) graph.getEdgeWeight(e) << 32) | e;
+        }
+
+        Run run = new Run(graph, keys, workspace.edgeLongs(1, edgeCount), workspace.disjointSet(vertexCount));
+        solve(run, 0, edgeCount);
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        return new MSTResult("Filter-Kruskal", run.mstEdges, run.totalCost, vertexCount,
+                edgeCount, run.operationsCount, executionTimeMs);
+    }
+
+    private void solve(Run run, int lo, int hi) {
+        while (hi > lo && !run.isComplete()) {
+            if (hi - lo <= BASE_CASE_SIZE) {
+                kruskalScan(run, lo, hi);
+                return;
+            }
+
+            long[] keys = run.keys;
+            long pivot = medianOfThree(keys[lo], keys[(lo + hi) >>> 1], keys[hi - 1]);
+            int split = partition(run, lo, hi, key -> key <= pivot);
+            if (split == lo || split == hi) {
+                kruskalScan(run, lo, hi);
+                return;
+            }
+
+            solve(run, lo, split);
+            if (run.isComplete()) {
+                return;
+            }
+
+            DisjointSet uf = run.uf;
+            CompactGraph graph = run.graph;
+            lo = split;
+            hi = partition(run, split, hi, key -> {
+                int edge = (int) key;
+                return uf.peekRoot(graph.getEdgeFrom(edge)) != uf.peekRoot(graph.getEdgeTo(edge));
+            });
+        }
+    }
+
+    private void kruskalScan(Run run, int lo, int hi) {
+        Arrays.sort(run.keys, lo, hi);
+        run.operationsCount += (long) ((hi - lo) * Math.log(hi - lo + 1) / Math.log(2));
+
+        CompactGraph graph = run.graph;
+        for (int i = lo; i < hi && !run.isComplete(); i++) {
+            int edge = (int) run.keys[i];
+            run.operationsCount++;
+            if (run.uf.union(graph.getEdgeFrom(edge), graph.getEdgeTo(edge))) {
+                run.mstEdges.add(graph.toEdge(edge));
+                run.totalCost += graph.getEdgeWeight(edge);
+            }
+        }
+    }
+
+    private int partition(Run run, int lo, int hi, LongPredicate first) {
+        run.operationsCount += hi - lo;
+        if (hi - lo < PARALLEL_THRESHOLD) {
+            return partitionSequential(run.keys, lo, hi, first);
+        }
+        return partitionParallel(run.keys, run.buffer, lo, hi, first);
+    }
+
+    private static int partitionSequential(long[] keys, int lo, int hi, LongPredicate first) {
+        int i = lo;
+        int j = hi - 1;
+        while (true) {
+            while (i <= j && first.test(keys[i])) i++;
+            while (i <= j && !first.test(keys[j])) j--;
+            if (i >= j) {
+                return i;
+            }
+            long temp = keys[i];
+            keys[i++] = keys[j];
+            keys[j--] = temp;
+        }
+    }
+
+    private int partitionParallel(long[] keys, long[] buffer, int lo, int hi, LongPredicate first) {
+        int size = hi - lo;
+        int chunks = Math.max(1, Math.min(pool.getParallelism() * 4, size / MIN_CHUNK));
+        int chunkSize = (size + chunks - 1) / chunks;
+        int[] matching = new int[chunks];
+
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            int end = Math.min(hi, lo + (c + 1) * chunkSize);
+            int count = 0;
+            for (int i = lo + c * chunkSize; i < end; i++) {
+                if (first.test(keys[i])) count++;
+            }
+            matching[c] = count;
+        })).join();
+
+        int[] matchOffset = new int[chunks];
+        int[] restOffset = new int[chunks];
+        int totalMatching = 0;
+        for (int c = 0; c < chunks; c++) {
+            matchOffset[c] = lo + totalMatching;
+            totalMatching += matching[c];
+        }
+        int rest = lo + totalMatching;
+        for (int c = 0; c < chunks; c++) {
+            restOffset[c] = rest;
+            rest += Math.min(hi, lo + (c + 1) * chunkSize) - (lo + c * chunkSize) - matching[c];
+        }
+
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            int end = Math.min(hi, lo + (c + 1) * chunkSize);
+            int match = matchOffset[c];
+            int other = restOffset[c];
+            for (int i = lo + c * chunkSize; i < end; i++) {
+                long key = keys[i];
+                if (first.test(key)) {
+                    buffer[match++] = key;
+                } else {
+                    buffer[other++] = key;
+                }
+            }
+        })).join();
+
+        System.arraycopy(buffer, lo, keys, lo, size);
+        return lo + totalMatching;
+    }
+
+    private static long medianOfThree(long a, long b, long c) {
+        if (a > b) { long t = a; a = b; b = t; }
+        if (b > c) { b = c; }
+        return Math.max(a, b);
+    }
+
+    private MSTResult createEmptyResult(long startTime) {
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        return new MSTResult("Filter-Kruskal", new ArrayList<>(), 0, 0, 0, 0, executionTimeMs);
+    }
+
+    private static class Run {
+        final CompactGraph graph;
+        final long[] keys;
+        final long[] buffer;
+        final DisjointSet uf;
+        final List<Edge> mstEdges = new ArrayList<>();
+        final int target;
+        int totalCost;
+        long operationsCount;
+
+        Run(CompactGraph graph, long[] keys, long[] buffer, DisjointSet uf) {
+            this.graph = graph;
+            this.keys = keys;
+            this.buffer = buffer;
+            this.uf = uf;
+            this.target = graph.getVertexCount() - 1;
+        }
+
+        boolean isComplete() {
+            return mstEdges.size() >= target;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package algorithms;
+
+import graph.CompactGraph;
+
+public class GraphFeatures {
+    private final int vertexCount;
+    private final int edgeCount;
+    private final double density;
+    private final long weightRange;
+    private final int cores;
+
+    public GraphFeatures(int vertexCount, int edgeCount, long weightRange, int cores) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.weightRange = weightRange;
+        this.cores = cores;
+        long pairs = (long) vertexCount * (vertexCount - 1) / 2;
+        this.density = pairs == 0 ? 0.0 : (double) edgeCount / pairs;
+    }
+
+    public static GraphFeatures of(CompactGraph graph) {
+        int[] weights = graph.getEdgeWeights();
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int w : weights) {
+            if (w < min) min = w;
+            if (w > max) max = w;
+        }
+        long range = weights.length == 0 ? 0 : (long) max - min + 1;
+        return new GraphFeatures(graph.getVertexCount(), graph.getEdgeCount(), range,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getVertexCount() { return vertexCount; }
+    public int getEdgeCount() { return edgeCount; }
+    public double getDensity() { return density; }
+    public long getWeightRange() { return weightRange; }
+    public int getCores() { return cores; }
+
+    @Override
+    public String toString() {
+        return String.format("V=%d, E=%d, density=%.3f, weightRange=%d, cores=%d",
+                vertexCount, edgeCount, density, weightRange, cores);
+    }
+}
@@ -0,0 +1,150 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap of int ids {@code 0..capacity-1} with int keys and a true decrease-key.
+ * {@code heap} holds ids in heap order, {@code position} maps an id to its slot (-1 when absent)
+ * and {@code keys} is indexed by id; a key stays readable after its id is polled.
+ */
+public class IndexedDaryHeap {
+    private final int arity;
+    private int[] heap;
+    private int[] position;
+    private int[] keys;
+    private int size;
+
+    public IndexedDaryHeap(int capacity) {
+        this(capacity, 4);
+    }
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public void reset(int capacity) {
+        if (heap.length < capacity) {
+            heap = new int[capacity];
+            position = new int[capacity];
+            keys = new int[capacity];
+        }
+        Arrays.fill(position, 0, capacity, -1);
+        size = 0;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    public int keyOf(int id) {
+        return keys[id];
+    }
+
+    public int peekMin() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    public void insert(int id, int key) {
+        if (position[id] >= 0) {
+            throw new IllegalArgumentException("Id already in heap: " + id);
+        }
+        keys[id] = key;
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int id, int key) {
+        int slot = position[id];
+        if (slot < 0) {
+            throw new IllegalArgumentException("Id not in heap: " + id);
+        }
+        if (key > keys[id]) {
+            throw new IllegalArgumentException("New key " + key + " is greater than current key " + keys[id]);
+        }
+        keys[id] = key;
+        siftUp(slot);
+    }
+
+    public int pollMin() {
+        int min = peekMin();
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int slot) {
+        int id = heap[slot];
+        int key = keys[id];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) / arity;
+            int parent = heap[parentSlot];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[slot] = parent;
+            position[parent] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = id;
+        position[id] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int id = heap[slot];
+        int key = keys[id];
+        while (true) {
+            int firstChild = slot * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + arity, size);
+            int best = firstChild;
+            int bestKey = keys[heap[firstChild]];
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                int childKey = keys[heap[child]];
+                if (childKey < bestKey) {
+                    best = child;
+                    bestKey = childKey;
+                }
+            }
+            if (bestKey >= key) {
+                break;
+            }
+            int bestId = heap[best];
+            heap[slot] = bestId;
+            position[bestId] = slot;
+            slot = best;
+        }
+        heap[slot] = id;
+        position[id] = slot;
+    }
+}
@@ -1,88 +1,62 @@
 package algorithms;
 
+import graph.CompactGraph;
 import graph.Edge;
 import graph.Graph;
 import models.MSTResult;
 import java.util.*;
 
-public class KruskalAlgorithm {
-    private long operationsCount = 0;
+public class KruskalAlgorithm implements MSTAlgorithm {
+    private final EdgeSorter.Strategy sortStrategy;
 
-    private static class UnionFind {
-        private final Map<String, String> parent;
-        private final Map<String, Integer> rank;
-
-        public UnionFind(List<String> nodes) {
-            parent = new HashMap<>();
-            rank = new HashMap<>();
-
-            for (String node : nodes) {
-                parent.put(node, node);
-                rank.put(node, 0);
-            }
-        }
-
-        public String find(String x) {
-            if (!parent.get(x).equals(x)) {
-                parent.put(x, find(parent.get(x)));
-            }
-            return parent.get(x);
-        }
-
-        public boolean union(String x, String y) {
-            String rootX = find(x);
-            String rootY = find(y);
-
-            if (rootX.equals(rootY)) {
-                return false;
-            }
+    public KruskalAlgorithm() {
+        this(EdgeSorter.Strategy.AUTO);
+    }
 
-            int rankX = rank.get(rootX);
-            int rankY = rank.get(rootY);
+    public KruskalAlgorithm(EdgeSorter.Strategy sortStrategy) {
+        this.sortStrategy = sortStrategy;
+    }
 
-            if (rankX < rankY) {
-                parent.put(rootX, rootY);
-            } else if (rankX > rankY) {
-                parent.put(rootY, rootX);
-            } else {
-                parent.put(rootY, rootX);
-                rank.put(rootX, rankX + 1);
-            }
-            return true;
-        }
+    @Override
+    public String getName() {
+        return "Kruskal";
     }
 
+    @Override
     public MSTResult findMST(Graph graph) {
-        operationsCount = 0;
+        return findMST(graph.toCompact());
+    }
+
+    @Override
+    public MSTResult findMST(CompactGraph graph) {
+        long operationsCount = 0;
         long startTime = System.nanoTime();
 
-        List<String> nodes = graph.getNodes();
-        int vertexCount = nodes.size();
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
 
         if (vertexCount == 0) {
-            return createEmptyResult(startTime, graph);
+            return createEmptyResult(startTime);
         }
 
-        List<Edge> edges = new ArrayList<>(graph.getAllEdges());
-        edges = mergeSort(edges);
-        operationsCount += (long) (edges.size() * Math.log(edges.size()) / Math.log(2));
+        SolverWorkspace workspace = SolverWorkspace.current();
+        int[] order = workspace.sortOrder(edgeCount);
+        EdgeSorter.sort(graph.getEdgeWeights(), edgeCount, sortStrategy, order, workspace);
+        operationsCount += (long) (edgeCount * Math.log(edgeCount) / Math.log(2));
 
-        UnionFind uf = new UnionFind(nodes);
+        DisjointSet uf = workspace.disjointSet(vertexCount);
 
         List<Edge> mstEdges = new ArrayList<>();
         int totalCost = 0;
 
-        for (Edge edge : edges) {
-            operationsCount++;
-
-            String from = edge.getFrom();
-            String to = edge.getTo();
-
+        for (int i = 0; i < edgeCount; i++) {
+            int edge = order[i];
+            // one find per endpoint inside union
             operationsCount += 2;
 
-            if (uf.union(from, to)) {
-                mstEdges.add(edge);
-                totalCost += edge.getWeight();
+            if (uf.union(graph.getEdgeFrom(edge), graph.getEdgeTo(edge))) {
+                mstEdges.add(graph.toEdge(edge));
+                totalCost += graph.getEdgeWeight(edge);
                 operationsCount++;
 
                 if (mstEdges.size() == vertexCount - 1) {
@@ -95,42 +69,12 @@ public class KruskalAlgorithm {
         double executionTimeMs = (endTime - startTime) / 1_000_000.0;
 
         return new MSTResult("Kruskal", mstEdges, totalCost, vertexCount,
-                graph.getEdgeCount(), operationsCount, executionTimeMs);
-    }
-
-    private List<Edge> mergeSort(List<Edge> edges) {
-        if (edges.size() <= 1) {
-            return edges;
-        }
-
-        int mid = edges.size() / 2;
-        List<Edge> left = mergeSort(new ArrayList<>(edges.subList(0, mid)));
-        List<Edge> right = mergeSort(new ArrayList<>(edges.subList(mid, edges.size())));
-
-        return merge(left, right);
-    }
-
-    private List<Edge> merge(List<Edge> left, List<Edge> right) {
-        List<Edge> result = new ArrayList<>();
-        int i = 0, j = 0;
-
-        while (i < left.size() && j < right.size()) {
-            if (left.get(i).compareTo(right.get(j)) <= 0) {
-                result.add(left.get(i++));
-            } else {
-                result.add(right.get(j++));
-            }
-        }
-
-        while (i < left.size()) result.add(left.get(i++));
-        while (j < right.size()) result.add(right.get(j++));
-
-        return result;
+                edgeCount, operationsCount, executionTimeMs);
     }
 
-    private MSTResult createEmptyResult(long startTime, Graph graph) {
+    private MSTResult createEmptyResult(long startTime) {
         long endTime = System.nanoTime();
         double executionTimeMs = (endTime - startTime) / 1_000_000.0;
         return new MSTResult("Kruskal", new ArrayList<>(), 0, 0, 0, 0, executionTimeMs);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package algorithms;
+
+import graph.CompactGraph;
+import graph.Graph;
+import models.MSTResult;
+
+public interface MSTAlgorithm {
+    String getName();
+
+    MSTResult findMST(Graph graph);
+
+    MSTResult findMST(CompactGraph graph);
+}
@@ -0,0 +1,176 @@
+package algorithms;
+
+import graph.CompactGraph;
+import graph.Edge;
+import graph.Graph;
+import models.MSTResult;
+
+import java.util.*;
+
+/**
+ * Cheapest replacement for every MST edge, built once in near-linear time. Non-tree edges are
+ * processed in weight order; each one covers the still-uncovered tree edges on its tree path,
+ * found by jumping over covered edges with a path-halving union-find. Queries are O(1).
+ */
+public class MSTSensitivity {
+    private static final int NONE = RootedForest.NONE;
+
+    private final CompactGraph graph;
+    private final Map<Long, Integer> childOfTreeEdge;
+    private final int[] parentWeight;
+    private final int[] replacement;
+    private final long totalCost;
+
+    public MSTSensitivity(Graph graph, MSTResult mst) {
+        this(graph.toCompact(), mst);
+    }
+
+    public MSTSensitivity(CompactGraph graph, MSTResult mst) {
+        this.graph = graph;
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+
+        Map<Long, List<Integer>> pendingTreeEdges = new HashMap<>();
+        for (Edge edge : mst.getMstEdges()) {
+            int u = nodeId(graph, edge.getFrom());
+            int v = nodeId(graph, edge.getTo());
+            pendingTreeEdges.computeIfAbsent(pairKey(u, v), k -> new ArrayList<>()).add(edge.getWeight());
+        }
+
+        int treeEdgeCount = mst.getMstEdges().size();
+        int[] treeFrom = new int[treeEdgeCount];
+        int[] treeTo = new int[treeEdgeCount];
+        int[] treeWeight = new int[treeEdgeCount];
+        int[] nonTree = new int[m];
+        int nonTreeCount = 0;
+        int treeCount = 0;
+        long cost = 0;
+
+        for (int e = 0; e < m; e++) {
+            int u = graph.getEdgeFrom(e);
+            int v = graph.getEdgeTo(e);
+            int w = graph.getEdgeWeight(e);
+            long key = pairKey(u, v);
+            List<Integer> pendingWeights = pendingTreeEdges.get(key);
+            if (pendingWeights == null || !pendingWeights.remove((Integer) w)) {
+                if (u != v) {
+                    nonTree[nonTreeCount++] = e;
+                }
+                continue;
+            }
+            if (pendingWeights.isEmpty()) {
+                pendingTreeEdges.remove(key);
+            }
+            treeFrom[treeCount] = u;
+            treeTo[treeCount] = v;
+            treeWeight[treeCount++] = w;
+            cost += w;
+        }
+        if (!pendingTreeEdges.isEmpty()) {
+            throw new IllegalArgumentException("MST edges are not all present in the graph");
+        }
+        this.totalCost = cost;
+
+        RootedForest forest = new RootedForest(n, treeFrom, treeTo, treeWeight, treeCount);
+        int[] parent = forest.parent;
+        int[] depth = forest.depth;
+        this.parentWeight = forest.parentWeight;
+        this.childOfTreeEdge = new HashMap<>(treeCount * 2);
+        for (int v = 0; v < n; v++) {
+            if (parent[v] != NONE) {
+                childOfTreeEdge.put(pairKey(parent[v], v), v);
+            }
+        }
+
+        this.replacement = new int[n];
+        Arrays.fill(replacement, NONE);
+        int[] jump = new int[n];
+        for (int v = 0; v < n; v++) {
+            jump[v] = v;
+        }
+
+        int[] nonTreeWeights = new int[nonTreeCount];
+        for (int i = 0; i < nonTreeCount; i++) {
+            nonTreeWeights[i] = graph.getEdgeWeight(nonTree[i]);
+        }
+        for (int i : EdgeSorter.sortedOrder(nonTreeWeights, nonTreeCount)) {
+            int e = nonTree[i];
+            int a = top(jump, graph.getEdgeFrom(e));
+            int b = top(jump, graph.getEdgeTo(e));
+            while (a != b) {
+                if (depth[a] < depth[b]) {
+                    int t = a;
+                    a = b;
+                    b = t;
+                }
+                if (parent[a] == NONE) {
+                    break;
+                }
+                replacement[a] = e;
+                jump[a] = parent[a];
+                a = top(jump, a);
+            }
+        }
+    }
+
+    /** Cheapest non-tree edge that reconnects the tree if {@code from–to} is removed, or null for a bridge. */
+    public Edge getReplacement(String from, String to) {
+        int e = replacement[child(from, to)];
+        return e == NONE ? null : graph.toEdge(e);
+    }
+
+    /** Spanning-tree cost after closing {@code from–to}, or -1 if closing it disconnects the network. */
+    public long getCostWithout(String from, String to) {
+        int child = child(from, to);
+        int e = replacement[child];
+        return e == NONE ? -1 : totalCost - parentWeight[child] + graph.getEdgeWeight(e);
+    }
+
+    /**
+     * How far the weight of tree edge {@code from–to} can rise before some other edge would be
+     * preferred; {@link Integer#MAX_VALUE} for bridges.
+     */
+    public int getTolerance(String from, String to) {
+        int child = child(from, to);
+        int e = replacement[child];
+        return e == NONE ? Integer.MAX_VALUE : graph.getEdgeWeight(e) - parentWeight[child];
+    }
+
+    public boolean isTreeEdge(String from, String to) {
+        int u = graph.getNodeId(from);
+        int v = graph.getNodeId(to);
+        return u >= 0 && v >= 0 && childOfTreeEdge.containsKey(pairKey(u, v));
+    }
+
+    public long getTotalCost() {
+        return totalCost;
+    }
+
+    private int child(String from, String to) {
+        Integer child = childOfTreeEdge.get(pairKey(nodeId(graph, from), nodeId(graph, to)));
+        if (child == null) {
+            throw new IllegalArgumentException("Not an MST edge: " + from + " - " + to);
+        }
+        return child;
+    }
+
+    private static int top(int[] jump, int x) {
+        while (jump[x] != x) {
+            jump[x] = jump[jump[x]];
+            x = jump[x];
+        }
+        return x;
+    }
+
+    private static int nodeId(CompactGraph graph, String name) {
+        int id = graph.getNodeId(name);
+        if (id < 0) {
+            throw new IllegalArgumentException("Invalid node: " + name);
+        }
+        return id;
+    }
+
+    private static long pairKey(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+}
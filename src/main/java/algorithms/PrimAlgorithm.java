@@ -1,67 +1,88 @@
 package algorithms;
 
+import graph.CompactGraph;
 import graph.Edge;
 import graph.Graph;
 import models.MSTResult;
 import java.util.*;
 
-public class PrimAlgorithm {
-    private long operationsCount = 0;
+public class PrimAlgorithm implements MSTAlgorithm {
+    private final int heapArity;
 
+    public PrimAlgorithm() {
+        this(4);
+    }
+
+    public PrimAlgorithm(int heapArity) {
+        if (heapArity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2: " + heapArity);
+        }
+        this.heapArity = heapArity;
+    }
+
+    @Override
+    public String getName() {
+        return "Prim";
+    }
+
+    @Override
     public MSTResult findMST(Graph graph) {
-        operationsCount = 0;
+        return findMST(graph.toCompact());
+    }
+
+    @Override
+    public MSTResult findMST(CompactGraph graph) {
+        long operationsCount = 0;
         long startTime = System.nanoTime();
 
-        List<String> nodes = graph.getNodes();
-        int vertexCount = nodes.size();
+        int vertexCount = graph.getVertexCount();
 
         if (vertexCount == 0) {
-            return createEmptyResult(startTime, graph);
+            return createEmptyResult(startTime);
         }
 
-        Set<String> inMST = new HashSet<>();
-        Map<String, Integer> key = new HashMap<>();
-        Map<String, String> parent = new HashMap<>();
-
-        for (String node : nodes) {
-            key.put(node, Integer.MAX_VALUE);
-        }
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
 
-        PriorityQueue<NodeKey> pq = new PriorityQueue<>();
+        SolverWorkspace workspace = SolverWorkspace.current();
+        boolean[] inMST = workspace.visited(vertexCount);
+        int[] parent = workspace.vertexInts(0, vertexCount);
+        Arrays.fill(parent, 0, vertexCount, -1);
 
-        String startNode = nodes.get(0);
-        key.put(startNode, 0);
-        pq.offer(new NodeKey(startNode, 0));
+        IndexedDaryHeap heap = workspace.heap(vertexCount, heapArity);
+        heap.insert(0, 0);
 
         List<Edge> mstEdges = new ArrayList<>();
         int totalCost = 0;
 
-        while (!pq.isEmpty()) {
-            NodeKey current = pq.poll();
-            String u = current.node;
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
             operationsCount++;
 
-            if (inMST.contains(u)) {
-                continue;
-            }
-
-            inMST.add(u);
+            inMST[u] = true;
 
-            if (parent.containsKey(u)) {
-                Edge mstEdge = new Edge(parent.get(u), u, key.get(u));
-                mstEdges.add(mstEdge);
-                totalCost += key.get(u);
+            if (parent[u] >= 0) {
+                int key = heap.keyOf(u);
+                mstEdges.add(new Edge(graph.getNodeName(parent[u]), graph.getNodeName(u), key));
+                totalCost += key;
             }
 
-            for (Edge edge : graph.getEdges(u)) {
-                String v = edge.getTo();
-                int weight = edge.getWeight();
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                int weight = weights[i];
                 operationsCount++;
 
-                if (!inMST.contains(v) && weight < key.get(v)) {
-                    key.put(v, weight);
-                    parent.put(v, u);
-                    pq.offer(new NodeKey(v, weight));
+                if (inMST[v]) {
+                    continue;
+                }
+                if (!heap.contains(v)) {
+                    heap.insert(v, weight);
+                    parent[v] = u;
+                    operationsCount++;
+                } else if (weight < heap.keyOf(v)) {
+                    heap.decreaseKey(v, weight);
+                    parent[v] = u;
                     operationsCount++;
                 }
             }
@@ -74,24 +95,9 @@ public class PrimAlgorithm {
                 graph.getEdgeCount(), operationsCount, executionTimeMs);
     }
 
-    private MSTResult createEmptyResult(long startTime, Graph graph) {
+    private MSTResult createEmptyResult(long startTime) {
         long endTime = System.nanoTime();
         double executionTimeMs = (endTime - startTime) / 1_000_000.0;
         return new MSTResult("Prim", new ArrayList<>(), 0, 0, 0, 0, executionTimeMs);
     }
-
-    private static class NodeKey implements Comparable<NodeKey> {
-        String node;
-        int key;
-
-        NodeKey(String node, int key) {
-            this.node = node;
-            this.key = key;
-        }
-
-        @Override
-        public int compareTo(NodeKey other) {
-            return Integer.compare(this.key, other.key);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package algorithms;
+
+import java.util.*;
+
+/**
+ * A spanning forest given as an edge list, rooted by an iterative BFS from the lowest node of each
+ * tree. {@code order} lists every node after its parent, so per-node tables can be filled top-down.
+ */
+class RootedForest {
+    static final int NONE = -1;
+
+    final int[] parent;
+    final int[] parentWeight;
+    final int[] depth;
+    final int[] root;
+    final int[] order;
+    final long[] rootDistance;
+
+    RootedForest(int vertexCount, int[] from, int[] to, int[] weight, int edgeCount) {
+        int n = vertexCount;
+        int[] head = new int[n];
+        Arrays.fill(head, NONE);
+        int[] next = new int[2 * edgeCount];
+        int[] neighbor = new int[next.length];
+        int[] neighborWeight = new int[next.length];
+        int slot = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            int u = from[e];
+            int v = to[e];
+            neighbor[slot] = v;
+            neighborWeight[slot] = weight[e];
+            next[slot] = head[u];
+            head[u] = slot++;
+            neighbor[slot] = u;
+            neighborWeight[slot] = weight[e];
+            next[slot] = head[v];
+            head[v] = slot++;
+        }
+
+        this.parent = new int[n];
+        this.parentWeight = new int[n];
+        this.depth = new int[n];
+        this.root = new int[n];
+        this.order = new int[n];
+        this.rootDistance = new long[n];
+        Arrays.fill(root, NONE);
+
+        int visited = 0;
+        int treeEdges = 0;
+        for (int r = 0; r < n; r++) {
+            if (root[r] != NONE) {
+                continue;
+            }
+            root[r] = r;
+            parent[r] = NONE;
+            int headIndex = visited;
+            order[visited++] = r;
+            while (headIndex < visited) {
+                int u = order[headIndex++];
+                for (int s = head[u]; s != NONE; s = next[s]) {
+                    int v = neighbor[s];
+                    if (root[v] != NONE) {
+                        continue;
+                    }
+                    root[v] = r;
+                    parent[v] = u;
+                    parentWeight[v] = neighborWeight[s];
+                    depth[v] = depth[u] + 1;
+                    rootDistance[v] = rootDistance[u] + neighborWeight[s];
+                    order[visited++] = v;
+                    treeEdges++;
+                }
+            }
+        }
+        if (treeEdges != edgeCount) {
+            throw new IllegalArgumentException("MST edges contain a cycle");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Scratch arrays reused across solves. Buffers only grow, so back-to-back solves of similar
+ * graphs stop allocating after the first one. A workspace belongs to one thread at a time;
+ * solvers use {@link #current()}. Contents are undefined between calls unless stated.
+ */
+public final class SolverWorkspace {
+    public static final int VERTEX_SLOTS = 4;
+
+    private static final ThreadLocal<SolverWorkspace> CURRENT = ThreadLocal.withInitial(SolverWorkspace::new);
+
+    private final int[][] vertexInts = new int[VERTEX_SLOTS][];
+    private final long[][] edgeLongs = new long[2][];
+    private boolean[] visited;
+    private int[] edgeInts;
+    private int[] sortOrder;
+    private int[] sortKeys;
+    private int[] sortKeyBuffer;
+    private int[] sortIndexBuffer;
+    private int[] sortBuckets;
+    private long[] sortPacked;
+    private IndexedDaryHeap heap;
+    private DisjointSet disjointSet;
+    private long allocationCount;
+
+    public static SolverWorkspace current() {
+        return CURRENT.get();
+    }
+
+    public int[] vertexInts(int slot, int size) {
+        int[] buffer = vertexInts[slot];
+        if (buffer == null || buffer.length < size) {
+            buffer = new int[grow(buffer == null ? 0 : buffer.length, size)];
+            vertexInts[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    public long[] edgeLongs(int slot, int size) {
+        long[] buffer = edgeLongs[slot];
+        if (buffer == null || buffer.length < size) {
+            buffer = new long[grow(buffer == null ? 0 : buffer.length, size)];
+            edgeLongs[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    /** Returned cleared to {@code false} over the first {@code size} entries. */
+    public boolean[] visited(int size) {
+        if (visited == null || visited.length < size) {
+            visited = new boolean[grow(visited == null ? 0 : visited.length, size)];
+        } else {
+            Arrays.fill(visited, 0, size, false);
+        }
+        return visited;
+    }
+
+    public int[] edgeInts(int size) {
+        return edgeInts = ensure(edgeInts, size);
+    }
+
+    public int[] sortOrder(int size) {
+        return sortOrder = ensure(sortOrder, size);
+    }
+
+    int[] sortKeys(int size) {
+        return sortKeys = ensure(sortKeys, size);
+    }
+
+    int[] sortKeyBuffer(int size) {
+        return sortKeyBuffer = ensure(sortKeyBuffer, size);
+    }
+
+    int[] sortIndexBuffer(int size) {
+        return sortIndexBuffer = ensure(sortIndexBuffer, size);
+    }
+
+    int[] sortBuckets(int size) {
+        return sortBuckets = ensure(sortBuckets, size);
+    }
+
+    long[] sortPacked(int size) {
+        if (sortPacked == null || sortPacked.length < size) {
+            sortPacked = new long[grow(sortPacked == null ? 0 : sortPacked.length, size)];
+        }
+        return sortPacked;
+    }
+
+    /** Returned empty, sized for ids {@code 0..capacity-1}. */
+    public IndexedDaryHeap heap(int capacity, int arity) {
+        if (heap == null || heap.getArity() != arity) {
+            heap = new IndexedDaryHeap(capacity, arity);
+            allocationCount++;
+        } else {
+            heap.reset(capacity);
+        }
+        return heap;
+    }
+
+    /** Returned with {@code size} singleton sets and cleared stats. */
+    public DisjointSet disjointSet(int size) {
+        if (disjointSet == null) {
+            disjointSet = new DisjointSet(size);
+            allocationCount++;
+        } else {
+            disjointSet.reset(size);
+        }
+        return disjointSet;
+    }
+
+    public long getAllocationCount() {
+        return allocationCount;
+    }
+
+    private int[] ensure(int[] buffer, int size) {
+        if (buffer != null && buffer.length >= size) {
+            return buffer;
+        }
+        return new int[grow(buffer == null ? 0 : buffer.length, size)];
+    }
+
+    private int grow(int current, int size) {
+        allocationCount++;
+        return Math.max(size, current + (current >> 1));
+    }
+}
@@ -0,0 +1,98 @@
+package algorithms;
+
+import graph.CompactGraph;
+import graph.Graph;
+import models.ForestResult;
+import models.MSTResult;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Minimum spanning forest. One union-find pass labels the connected components, each component
+ * is cut out as its own {@link CompactGraph}, and the components are solved independently on a
+ * pool with the wrapped engine. Components are numbered by their smallest node id.
+ */
+public class SpanningForestSolver {
+    private final MSTAlgorithm engine;
+    private final ForkJoinPool pool;
+
+    public SpanningForestSolver() {
+        this(new KruskalAlgorithm(), ForkJoinPool.commonPool());
+    }
+
+    public SpanningForestSolver(MSTAlgorithm engine, ForkJoinPool pool) {
+        this.engine = engine;
+        this.pool = pool;
+    }
+
+    public ForestResult findForest(Graph graph) {
+        return findForest(graph.toCompact());
+    }
+
+    public ForestResult findForest(CompactGraph graph) {
+        long startTime = System.nanoTime();
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+
+        DisjointSet sets = new DisjointSet(Math.max(n, 1));
+        for (int e = 0; e < m; e++) {
+            sets.union(graph.getEdgeFrom(e), graph.getEdgeTo(e));
+        }
+
+        int[] componentOf = new int[n];
+        int[] labelOfRoot = new int[n];
+        Arrays.fill(labelOfRoot, -1);
+        int componentCount = 0;
+        for (int v = 0; v < n; v++) {
+            int root = sets.find(v);
+            if (labelOfRoot[root] < 0) {
+                labelOfRoot[root] = componentCount++;
+            }
+            componentOf[v] = labelOfRoot[root];
+        }
+
+        int[] localId = new int[n];
+        List<List<String>> nodes = new ArrayList<>(componentCount);
+        int[] edgeCounts = new int[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            nodes.add(new ArrayList<>());
+        }
+        for (int v = 0; v < n; v++) {
+            List<String> members = nodes.get(componentOf[v]);
+            localId[v] = members.size();
+            members.add(graph.getNodeName(v));
+        }
+        for (int e = 0; e < m; e++) {
+            edgeCounts[componentOf[graph.getEdgeFrom(e)]]++;
+        }
+
+        List<CompactGraph.Builder> builders = new ArrayList<>(componentCount);
+        for (int c = 0; c < componentCount; c++) {
+            builders.add(new CompactGraph.Builder(nodes.get(c), edgeCounts[c]));
+        }
+        for (int e = 0; e < m; e++) {
+            int u = graph.getEdgeFrom(e);
+            builders.get(componentOf[u]).addEdge(localId[u], localId[graph.getEdgeTo(e)], graph.getEdgeWeight(e));
+        }
+
+        Integer[] bySize = new Integer[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            bySize[c] = c;
+        }
+        Arrays.sort(bySize, (a, b) -> Integer.compare(edgeCounts[b], edgeCounts[a]));
+        MSTResult[] trees = new MSTResult[componentCount];
+        pool.submit(() -> Arrays.stream(bySize).parallel()
+                .forEach(c -> trees[c] = engine.findMST(builders.get(c).build()))).join();
+
+        List<ForestResult.Component> components = IntStream.range(0, componentCount)
+                .mapToObj(c -> new ForestResult.Component(c, Collections.unmodifiableList(nodes.get(c)), trees[c]))
+                .collect(Collectors.toList());
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        return new ForestResult(engine.getName(), components, n, m, executionTimeMs);
+    }
+}
@@ -0,0 +1,459 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Frozen compressed-sparse-row view of an undirected graph. Node names are resolved to
+ * int ids once; adjacency of node {@code u} lives in {@code targets/weights[offsets[u]..offsets[u + 1])}.
+ * Every undirected edge is additionally kept once in {@code edgeFrom/edgeTo/edgeWeight}.
+ * The arrays returned by the getters are shared, not copied, and must not be modified.
+ */
+public class CompactGraph {
+    private static final int PARALLEL_BFS_THRESHOLD = 1 << 18;
+    private static final int FRONTIER_GRAIN = 1024;
+
+    private final String[] names;
+    private final Map<String, Integer> nameToId;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeWeight;
+
+    private CompactGraph(String[] names, Map<String, Integer> nameToId,
+                         int[] edgeFrom, int[] edgeTo, int[] edgeWeight) {
+        this.names = names;
+        this.nameToId = nameToId;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+
+        int n = names.length;
+        int m = edgeFrom.length;
+        this.offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[edgeFrom[e] + 1]++;
+            offsets[edgeTo[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        this.targets = new int[2 * m];
+        this.weights = new int[2 * m];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            int u = edgeFrom[e];
+            int v = edgeTo[e];
+            int w = edgeWeight[e];
+
+            targets[cursor[u]] = v;
+            weights[cursor[u]++] = w;
+            targets[cursor[v]] = u;
+            weights[cursor[v]++] = w;
+        }
+    }
+
+    private CompactGraph(String[] names, int[] offsets, int[] targets, int[] weights,
+                         int[] edgeFrom, int[] edgeTo, int[] edgeWeight) {
+        this.names = names;
+        this.nameToId = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            nameToId.put(names[i], i);
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+    }
+
+    /**
+     * Wraps arrays that are already in CSR order, e.g. from a binary graph file. Nothing is copied,
+     * but offsets and every node index are checked so a corrupt file fails here, not in a solver.
+     */
+    public static CompactGraph fromArrays(String[] names, int[] offsets, int[] targets, int[] weights,
+                                          int[] edgeFrom, int[] edgeTo, int[] edgeWeight) {
+        int n = names.length;
+        int m = edgeFrom.length;
+        if (offsets.length != n + 1 || edgeTo.length != m || edgeWeight.length != m
+                || targets.length != 2 * m || weights.length != 2 * m || offsets[0] != 0 || offsets[n] != 2 * m) {
+            throw new IllegalArgumentException("Inconsistent CSR arrays for " + n + " nodes and " + m + " edges");
+        }
+        for (int i = 0; i < n; i++) {
+            if (offsets[i] > offsets[i + 1]) {
+                throw new IllegalArgumentException("Decreasing CSR offset at node " + i);
+            }
+        }
+        checkNodes(targets, n, "adjacency target");
+        checkNodes(edgeFrom, n, "edge source");
+        checkNodes(edgeTo, n, "edge target");
+        return new CompactGraph(names, offsets, targets, weights, edgeFrom, edgeTo, edgeWeight);
+    }
+
+    private static void checkNodes(int[] nodes, int vertexCount, String what) {
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] < 0 || nodes[i] >= vertexCount) {
+                throw new IllegalArgumentException("Invalid node: " + what + " " + i + " is " + nodes[i]);
+            }
+        }
+    }
+
+    public static CompactGraph from(Graph graph) {
+        return graph.toCompact();
+    }
+
+    public int getVertexCount() {
+        return names.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeFrom.length;
+    }
+
+    public String getNodeName(int id) {
+        return names[id];
+    }
+
+    public int getNodeId(String name) {
+        Integer id = nameToId.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public List<String> getNodes() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    public int degree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    public void forEachNeighbor(int node, IntIntConsumer visitor) {
+        for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+            visitor.accept(targets[i], weights[i]);
+        }
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public int[] getWeights() {
+        return weights;
+    }
+
+    public int[] getEdgeWeights() {
+        return edgeWeight;
+    }
+
+    public int getEdgeFrom(int edge) {
+        return edgeFrom[edge];
+    }
+
+    public int getEdgeTo(int edge) {
+        return edgeTo[edge];
+    }
+
+    public int getEdgeWeight(int edge) {
+        return edgeWeight[edge];
+    }
+
+    public Edge toEdge(int edge) {
+        return new Edge(names[edgeFrom[edge]], names[edgeTo[edge]], edgeWeight[edge]);
+    }
+
+    public boolean isConnected() {
+        int n = names.length;
+        if (n == 0) return true;
+        BitSet reached = n >= PARALLEL_BFS_THRESHOLD
+                ? reachableFrom(0, ForkJoinPool.commonPool()) : reachableFrom(0);
+        return reached.cardinality() == n;
+    }
+
+    /** Nodes reachable from {@code source}, found by an iterative BFS over a flat int queue. */
+    public BitSet reachableFrom(int source) {
+        BitSet visited = new BitSet(names.length);
+        int[] queue = new int[names.length];
+        int head = 0;
+        int tail = 0;
+        visited.set(source);
+        queue[tail++] = source;
+
+        while (head < tail) {
+            int u = queue[head++];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if (!visited.get(v)) {
+                    visited.set(v);
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Level-synchronous BFS for very large graphs. Each frontier is split into chunks that are
+     * expanded on {@code pool}; nodes are claimed by a CAS on a shared {@code long[]} bitmap, so
+     * every node enters exactly one next-frontier chunk.
+     */
+    public BitSet reachableFrom(int source, ForkJoinPool pool) {
+        int n = names.length;
+        AtomicLongArray visited = new AtomicLongArray((n + 63) >>> 6);
+        claim(visited, source);
+        int[] frontier = {source};
+
+        while (frontier.length > 0) {
+            int[] current = frontier;
+            int chunks = Math.min(pool.getParallelism() * 4, current.length / FRONTIER_GRAIN);
+            if (chunks <= 1) {
+                frontier = expand(current, 0, current.length, visited);
+                continue;
+            }
+            int[][] next = new int[chunks][];
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> next[c] = expand(current,
+                    (int) ((long) current.length * c / chunks), (int) ((long) current.length * (c + 1) / chunks),
+                    visited))).join();
+
+            int size = 0;
+            for (int[] part : next) {
+                size += part.length;
+            }
+            frontier = new int[size];
+            int pos = 0;
+            for (int[] part : next) {
+                System.arraycopy(part, 0, frontier, pos, part.length);
+                pos += part.length;
+            }
+        }
+
+        long[] words = new long[visited.length()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = visited.get(i);
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private int[] expand(int[] frontier, int from, int to, AtomicLongArray visited) {
+        int[] next = new int[Math.max(16, to - from)];
+        int size = 0;
+        for (int f = from; f < to; f++) {
+            int u = frontier[f];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                if ((visited.get(v >>> 6) & (1L << v)) == 0 && claim(visited, v)) {
+                    if (size == next.length) {
+                        next = Arrays.copyOf(next, size * 2);
+                    }
+                    next[size++] = v;
+                }
+            }
+        }
+        return Arrays.copyOf(next, size);
+    }
+
+    private static boolean claim(AtomicLongArray visited, int node) {
+        int word = node >>> 6;
+        long bit = 1L << node;
+        while (true) {
+            long old = visited.get(word);
+            if ((old & bit) != 0) {
+                return false;
+            }
+            if (visited.compareAndSet(word, old, old | bit)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Connected component of every node, numbered 0.. in order of each component's smallest node id.
+     * Isolated nodes get a component of their own.
+     */
+    public int[] componentLabels() {
+        int n = names.length;
+        int[] labels = new int[n];
+        Arrays.fill(labels, -1);
+        int[] queue = new int[n];
+        int component = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (labels[s] >= 0) continue;
+            int head = 0;
+            int tail = 0;
+            labels[s] = component;
+            queue[tail++] = s;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (labels[v] < 0) {
+                        labels[v] = component;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            component++;
+        }
+        return labels;
+    }
+
+    public int componentCount() {
+        int count = 0;
+        for (int label : componentLabels()) {
+            count = Math.max(count, label + 1);
+        }
+        return count;
+    }
+
+    /** Induced subgraph of the component with the most nodes; ties go to the lower component label. */
+    public CompactGraph largestComponent() {
+        int n = names.length;
+        int[] labels = componentLabels();
+        int[] sizes = new int[n];
+        int largest = 0;
+        for (int label : labels) {
+            if (++sizes[label] > sizes[largest] || (sizes[label] == sizes[largest] && label < largest)) {
+                largest = label;
+            }
+        }
+
+        int[] localId = new int[n];
+        List<String> nodes = new ArrayList<>(n == 0 ? 0 : sizes[largest]);
+        for (int v = 0; v < n; v++) {
+            if (labels[v] == largest) {
+                localId[v] = nodes.size();
+                nodes.add(names[v]);
+            }
+        }
+        int edges = 0;
+        for (int e = 0; e < edgeFrom.length; e++) {
+            if (labels[edgeFrom[e]] == largest) edges++;
+        }
+        Builder builder = new Builder(nodes, edges);
+        for (int e = 0; e < edgeFrom.length; e++) {
+            if (labels[edgeFrom[e]] == largest) {
+                builder.addEdge(localId[edgeFrom[e]], localId[edgeTo[e]], edgeWeight[e]);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompactGraph{vertices=%d, edges=%d}", names.length, edgeFrom.length);
+    }
+
+    public static class Builder {
+        private final List<String> names;
+        private final Map<String, Integer> nameToId;
+        private int[] from;
+        private int[] to;
+        private int[] weight;
+        private int edgeCount;
+
+        public Builder() {
+            this(new ArrayList<>(), 16);
+        }
+
+        public Builder(List<String> nodes) {
+            this(nodes, 16);
+        }
+
+        public Builder(List<String> nodes, int expectedEdges) {
+            this.names = new ArrayList<>(nodes.size());
+            this.nameToId = new HashMap<>(nodes.size() * 2);
+            int capacity = Math.max(expectedEdges, 1);
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.weight = new int[capacity];
+
+            for (String node : nodes) {
+                addNode(node);
+            }
+        }
+
+        /** Stages a copy of {@code graph}'s nodes and edges for further edits. */
+        public Builder(CompactGraph graph) {
+            this(graph.getNodes(), graph.getEdgeCount());
+            int m = graph.getEdgeCount();
+            System.arraycopy(graph.edgeFrom, 0, from, 0, m);
+            System.arraycopy(graph.edgeTo, 0, to, 0, m);
+            System.arraycopy(graph.edgeWeight, 0, weight, 0, m);
+            edgeCount = m;
+        }
+
+        public int addNode(String name) {
+            Integer existing = nameToId.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            int id = names.size();
+            names.add(name);
+            nameToId.put(name, id);
+            return id;
+        }
+
+        public int getVertexCount() {
+            return names.size();
+        }
+
+        public int getEdgeCount() {
+            return edgeCount;
+        }
+
+        public int getNodeId(String name) {
+            Integer id = nameToId.get(name);
+            return id == null ? -1 : id;
+        }
+
+        public String getNodeName(int id) {
+            return names.get(id);
+        }
+
+        public List<String> getNodes() {
+            return Collections.unmodifiableList(names);
+        }
+
+        public Builder addEdge(String from, String to, int weight) {
+            Integer fromId = nameToId.get(from);
+            Integer toId = nameToId.get(to);
+            if (fromId == null || toId == null) {
+                throw new IllegalArgumentException("Invalid node: " + from + " or " + to);
+            }
+            return addEdge(fromId, toId, weight);
+        }
+
+        public Builder addEdge(int from, int to, int weight) {
+            if (from < 0 || from >= names.size() || to < 0 || to >= names.size()) {
+                throw new IllegalArgumentException("Invalid node id: " + from + " or " + to);
+            }
+            if (edgeCount == this.from.length) {
+                int capacity = edgeCount * 2;
+                this.from = Arrays.copyOf(this.from, capacity);
+                this.to = Arrays.copyOf(this.to, capacity);
+                this.weight = Arrays.copyOf(this.weight, capacity);
+            }
+            this.from[edgeCount] = from;
+            this.to[edgeCount] = to;
+            this.weight[edgeCount] = weight;
+            edgeCount++;
+            return this;
+        }
+
+        public CompactGraph build() {
+            return new CompactGraph(names.toArray(new String[0]), new HashMap<>(nameToId),
+                    Arrays.copyOf(from, edgeCount), Arrays.copyOf(to, edgeCount),
+                    Arrays.copyOf(weight, edgeCount));
+        }
+    }
+}
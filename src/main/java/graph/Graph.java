@@ -2,86 +2,172 @@ package graph;
 
 import java.util.*;
 
+/**
+ * Mutable front end over {@link CompactGraph}. Edges are staged as int triples in a
+ * {@link CompactGraph.Builder}; the first read that needs adjacency freezes them into a CSR
+ * {@code CompactGraph} and drops the staging arrays, so a graph that is built and then solved holds
+ * one copy of its edges and no per-edge objects. {@link Edge} objects are only created by the
+ * {@code List<Edge>} accessors and views, one per element read; hot loops should use
+ * {@link #forEachNeighbor} or {@link #toCompact()} instead. The first edit after a freeze stages a
+ * copy of the edges once; from then on the staging builder is kept and appended to, and the CSR is
+ * rebuilt only when a read finds it out of date, so alternating edits and reads cost one build per
+ * read rather than a copy per edit.
+ * Editing is not thread-safe; a graph that is no longer edited may be read from any thread.
+ */
 public class Graph {
-    private final List<String> nodes;
-    private final Map<String, Integer> nodeToIndex;
-    private final List<List<Edge>> adjacencyList;
-    private final List<Edge> allEdges;
+    private volatile CompactGraph.Builder staged;
+    private volatile CompactGraph compact;
+    private boolean retainStaged;
+    private final List<Edge> allEdgesView = new AllEdgesView();
 
     public Graph(List<String> nodes) {
-        this.nodes = new ArrayList<>(nodes);
-        this.nodeToIndex = new HashMap<>();
-        this.adjacencyList = new ArrayList<>();
-        this.allEdges = new ArrayList<>();
-
-        for (int i = 0; i < nodes.size(); i++) {
-            String node = nodes.get(i);
-            nodeToIndex.put(node, i);
-            adjacencyList.add(new ArrayList<>());
-        }
+        this.staged = new CompactGraph.Builder(nodes);
     }
 
-    public void addEdge(String from, String to, int weight) {
-        if (!nodeToIndex.containsKey(from) || !nodeToIndex.containsKey(to)) {
-            throw new IllegalArgumentException("Invalid node: " + from + " or " + to);
-        }
-
-        Edge edge = new Edge(from, to, weight);
-        Edge reverseEdge = new Edge(to, from, weight);
-
-        int fromIdx = nodeToIndex.get(from);
-        int toIdx = nodeToIndex.get(to);
+    private Graph(CompactGraph compact) {
+        this.compact = compact;
+    }
 
-        adjacencyList.get(fromIdx).add(edge);
-        adjacencyList.get(toIdx).add(reverseEdge);
+    /** Wraps {@code compact} without copying it. */
+    public static Graph fromCompact(CompactGraph compact) {
+        return new Graph(compact);
+    }
 
-        allEdges.add(edge);
+    public void addEdge(String from, String to, int weight) {
+        CompactGraph.Builder builder = staged;
+        if (builder == null) {
+            builder = new CompactGraph.Builder(compact);
+            retainStaged = true;
+        }
+        builder.addEdge(from, to, weight);
+        staged = builder;
+        compact = null;
     }
 
     public int getVertexCount() {
-        return nodes.size();
+        CompactGraph.Builder builder = staged;
+        return builder != null ? builder.getVertexCount() : compact.getVertexCount();
     }
 
     public int getEdgeCount() {
-        return allEdges.size();
+        CompactGraph.Builder builder = staged;
+        return builder != null ? builder.getEdgeCount() : compact.getEdgeCount();
     }
 
     public List<String> getNodes() {
-        return new ArrayList<>(nodes);
+        CompactGraph.Builder builder = staged;
+        return new ArrayList<>(builder != null ? builder.getNodes() : compact.getNodes());
     }
 
     public List<Edge> getEdges(String node) {
-        Integer index = nodeToIndex.get(node);
-        if (index == null) {
-            return new ArrayList<>();
-        }
-        return new ArrayList<>(adjacencyList.get(index));
+        return new ArrayList<>(getEdgesView(node));
     }
 
     public List<Edge> getAllEdges() {
-        return new ArrayList<>(allEdges);
+        return new ArrayList<>(allEdgesView);
     }
 
-    public boolean isConnected() {
-        if (nodes.isEmpty()) return true;
+    public int getNodeIndex(String node) {
+        CompactGraph.Builder builder = staged;
+        return builder != null ? builder.getNodeId(node) : compact.getNodeId(node);
+    }
+
+    public String getNodeName(int index) {
+        CompactGraph.Builder builder = staged;
+        return builder != null ? builder.getNodeName(index) : compact.getNodeName(index);
+    }
+
+    /**
+     * Read-only live view of the adjacency of {@code node}. The view holds no edges: every
+     * {@code get} allocates a new {@link Edge}, so prefer {@link #forEachNeighbor} in hot loops.
+     */
+    public List<Edge> getEdgesView(String node) {
+        int index = getNodeIndex(node);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        return new NeighborView(index);
+    }
 
-        Set<String> visited = new HashSet<>();
-        dfs(nodes.get(0), visited);
+    /** Read-only live view of every edge, each undirected edge listed once; {@code get} allocates an {@link Edge}. */
+    public List<Edge> getAllEdgesView() {
+        return allEdgesView;
+    }
 
-        return visited.size() == nodes.size();
+    /** Visits every neighbor of {@code node} and the connecting weight without allocating. */
+    public void forEachNeighbor(int node, IntIntConsumer visitor) {
+        toCompact().forEachNeighbor(node, visitor);
     }
 
-    private void dfs(String node, Set<String> visited) {
-        visited.add(node);
-        for (Edge edge : getEdges(node)) {
-            if (!visited.contains(edge.getTo())) {
-                dfs(edge.getTo(), visited);
+    public CompactGraph toCompact() {
+        CompactGraph result = compact;
+        if (result == null) {
+            synchronized (this) {
+                result = compact;
+                if (result == null) {
+                    result = staged.build();
+                    compact = result;
+                    if (!retainStaged) {
+                        staged = null;
+                    }
+                }
             }
         }
+        return result;
+    }
+
+    public boolean isConnected() {
+        return toCompact().isConnected();
+    }
+
+    /** Connected component of every node index; see {@link CompactGraph#componentLabels()}. */
+    public int[] componentLabels() {
+        return toCompact().componentLabels();
+    }
+
+    public int componentCount() {
+        return toCompact().componentCount();
+    }
+
+    public Graph largestComponent() {
+        return fromCompact(toCompact().largestComponent());
     }
 
     @Override
     public String toString() {
-        return String.format("Graph{vertices=%d, edges=%d}", nodes.size(), allEdges.size());
+        return String.format("Graph{vertices=%d, edges=%d}", getVertexCount(), getEdgeCount());
+    }
+
+    private class NeighborView extends AbstractList<Edge> implements RandomAccess {
+        private final int node;
+
+        NeighborView(int node) {
+            this.node = node;
+        }
+
+        @Override
+        public Edge get(int index) {
+            CompactGraph graph = toCompact();
+            int slot = graph.getOffsets()[node] + Objects.checkIndex(index, graph.degree(node));
+            return new Edge(graph.getNodeName(node), graph.getNodeName(graph.getTargets()[slot]),
+                    graph.getWeights()[slot]);
+        }
+
+        @Override
+        public int size() {
+            return toCompact().degree(node);
+        }
+    }
+
+    private class AllEdgesView extends AbstractList<Edge> implements RandomAccess {
+        @Override
+        public Edge get(int index) {
+            return toCompact().toEdge(Objects.checkIndex(index, getEdgeCount()));
+        }
+
+        @Override
+        public int size() {
+            return getEdgeCount();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,6 @@
+package graph;
+
+@FunctionalInterface
+public interface IntIntConsumer {
+    void accept(int target, int weight);
+}
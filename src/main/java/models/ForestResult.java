@@ -0,0 +1,75 @@
+package models;
+
+import graph.Edge;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ForestResult {
+    private final String algorithmName;
+    private final List<Component> components;
+    private final long totalCost;
+    private final int vertexCount;
+    private final int originalEdgeCount;
+    private final double executionTimeMs;
+
+    public ForestResult(String algorithmName, List<Component> components, int vertexCount,
+                        int originalEdgeCount, double executionTimeMs) {
+        this.algorithmName = algorithmName;
+        this.components = components;
+        this.vertexCount = vertexCount;
+        this.originalEdgeCount = originalEdgeCount;
+        this.executionTimeMs = executionTimeMs;
+        long cost = 0;
+        for (Component component : components) {
+            cost += component.getCost();
+        }
+        this.totalCost = cost;
+    }
+
+    public String getAlgorithmName() { return algorithmName; }
+    public List<Component> getComponents() { return components; }
+    public int getComponentCount() { return components.size(); }
+    public long getTotalCost() { return totalCost; }
+    public int getVertexCount() { return vertexCount; }
+    public int getOriginalEdgeCount() { return originalEdgeCount; }
+    public double getExecutionTimeMs() { return executionTimeMs; }
+
+    public List<Edge> getAllEdges() {
+        List<Edge> edges = new ArrayList<>();
+        for (Component component : components) {
+            edges.addAll(component.getEdges());
+        }
+        return edges;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder(String.format(
+                "\n=== %s (forest) ===\nTotal Cost: %d\nComponents: %d\nForest Edges: %d/%d\nTime: %.3f ms",
+                algorithmName, totalCost, components.size(), vertexCount - components.size(),
+                originalEdgeCount, executionTimeMs));
+        for (Component component : components) {
+            summary.append(String.format("\n  #%d: %d nodes, %d edges, cost %d", component.getId(),
+                    component.getNodes().size(), component.getEdges().size(), component.getCost()));
+        }
+        return summary.toString();
+    }
+
+    public static class Component {
+        private final int id;
+        private final List<String> nodes;
+        private final MSTResult tree;
+
+        public Component(int id, List<String> nodes, MSTResult tree) {
+            this.id = id;
+            this.nodes = nodes;
+            this.tree = tree;
+        }
+
+        public int getId() { return id; }
+        public List<String> getNodes() { return nodes; }
+        public MSTResult getTree() { return tree; }
+        public List<Edge> getEdges() { return tree.getMstEdges(); }
+        public int getCost() { return tree.getTotalCost(); }
+    }
+}
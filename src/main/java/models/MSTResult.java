@@ -11,10 +11,26 @@ public class MSTResult {
     private final int originalEdgeCount;
     private final long operationsCount;
     private final double executionTimeMs;
+    private final String selectionReason;
+    private final boolean cached;
 
     public MSTResult(String algorithmName, List<Edge> mstEdges, int totalCost,
                      int vertexCount, int originalEdgeCount, long operationsCount,
                      double executionTimeMs) {
+        this(algorithmName, mstEdges, totalCost, vertexCount, originalEdgeCount,
+                operationsCount, executionTimeMs, null);
+    }
+
+    public MSTResult(String algorithmName, List<Edge> mstEdges, int totalCost,
+                     int vertexCount, int originalEdgeCount, long operationsCount,
+                     double executionTimeMs, String selectionReason) {
+        this(algorithmName, mstEdges, totalCost, vertexCount, originalEdgeCount, operationsCount,
+                executionTimeMs, selectionReason, false);
+    }
+
+    private MSTResult(String algorithmName, List<Edge> mstEdges, int totalCost,
+                      int vertexCount, int originalEdgeCount, long operationsCount,
+                      double executionTimeMs, String selectionReason, boolean cached) {
         this.algorithmName = algorithmName;
         this.mstEdges = mstEdges;
         this.totalCost = totalCost;
@@ -22,6 +38,22 @@ public class MSTResult {
         this.originalEdgeCount = originalEdgeCount;
         this.operationsCount = operationsCount;
         this.executionTimeMs = executionTimeMs;
+        this.selectionReason = selectionReason;
+        this.cached = cached;
+    }
+
+    public MSTResult withSelectionReason(String reason) {
+        return new MSTResult(algorithmName, mstEdges, totalCost, vertexCount, originalEdgeCount,
+                operationsCount, executionTimeMs, reason, cached);
+    }
+
+    /**
+     * Marks this result as served from a cache: the time and operation count were measured when it
+     * was first solved, not in this run.
+     */
+    public MSTResult asCached() {
+        return cached ? this : new MSTResult(algorithmName, mstEdges, totalCost, vertexCount,
+                originalEdgeCount, operationsCount, executionTimeMs, selectionReason, true);
     }
 
     public String getAlgorithmName() { return algorithmName; }
@@ -31,10 +63,16 @@ public class MSTResult {
     public int getOriginalEdgeCount() { return originalEdgeCount; }
     public long getOperationsCount() { return operationsCount; }
     public double getExecutionTimeMs() { return executionTimeMs; }
+    public String getSelectionReason() { return selectionReason; }
+    public boolean isCached() { return cached; }
 
     @Override
     public String toString() {
-        return String.format("\n=== %s ===\nTotal Cost: %d\nMST Edges: %d/%d\nOperations: %d\nTime: %.3f ms",
+        String summary = String.format("\n=== %s ===\nTotal Cost: %d\nMST Edges: %d/%d\nOperations: %d\nTime: %.3f ms",
                 algorithmName, totalCost, mstEdges.size(), originalEdgeCount, operationsCount, executionTimeMs);
+        if (cached) {
+            summary += " (cached, measured in an earlier run)";
+        }
+        return selectionReason == null ? summary : summary + "\nSelected: " + selectionReason;
     }
 }
\ No newline at end of file
@@ -0,0 +1,293 @@
+package utils;
+
+import algorithms.MSTAlgorithm;
+import graph.CompactGraph;
+import models.MSTResult;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * parse → solve → serialize → render, connected by bounded queues. One thread parses, a pool of
+ * workers solves, the calling thread serializes results in input order, and a small pool renders
+ * images. At most {@code maxInFlight} graphs are between parsing and serialization at any time,
+ * which bounds memory and pushes back on the parser when solving or writing falls behind.
+ * An optional third {@code solver}, typically an {@link algorithms.AutoMSTSolver}, is run on every
+ * graph as well and its result, with the engine it picked and why, is written as {@code auto}.
+ * With an {@link MSTResultCache}, graphs seen before skip solving, and skip rendering too when
+ * the cache still holds their image. A graph whose solve throws is logged and skipped; an
+ * {@link Error} such as {@link OutOfMemoryError} stops the run and is rethrown by {@code run}. If
+ * the input stream itself throws, the graphs read before it are still written and {@code run}
+ * rethrows the exception, so a truncated input never looks like a complete run.
+ */
+public class BatchPipeline {
+    private static final Task POISON = new Task(-1, null);
+
+    private final MSTAlgorithm prim;
+    private final MSTAlgorithm kruskal;
+    private final MSTAlgorithm solver;
+    private final int solverThreads;
+    private final int renderThreads;
+    private final int maxInFlight;
+    private final String visualizationDir;
+    private final MSTResultCache cache;
+
+    public BatchPipeline(MSTAlgorithm prim, MSTAlgorithm kruskal, String visualizationDir) {
+        this(prim, kruskal, visualizationDir, null);
+    }
+
+    public BatchPipeline(MSTAlgorithm prim, MSTAlgorithm kruskal, String visualizationDir, MSTResultCache cache) {
+        this(prim, kruskal, null, visualizationDir, cache);
+    }
+
+    public BatchPipeline(MSTAlgorithm prim, MSTAlgorithm kruskal, MSTAlgorithm solver, String visualizationDir,
+                         MSTResultCache cache) {
+        this(prim, kruskal, solver, Runtime.getRuntime().availableProcessors(), 2,
+                4 * Runtime.getRuntime().availableProcessors(), visualizationDir, cache);
+    }
+
+    public BatchPipeline(MSTAlgorithm prim, MSTAlgorithm kruskal, int solverThreads, int renderThreads,
+                         int maxInFlight, String visualizationDir, MSTResultCache cache) {
+        this(prim, kruskal, null, solverThreads, renderThreads, maxInFlight, visualizationDir, cache);
+    }
+
+    public BatchPipeline(MSTAlgorithm prim, MSTAlgorithm kruskal, MSTAlgorithm solver, int solverThreads,
+                         int renderThreads, int maxInFlight, String visualizationDir, MSTResultCache cache) {
+        if (solverThreads < 1 || renderThreads < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Thread counts and in-flight limit must be positive");
+        }
+        this.prim = prim;
+        this.kruskal = kruskal;
+        this.solver = solver;
+        this.solverThreads = solverThreads;
+        this.renderThreads = renderThreads;
+        this.maxInFlight = maxInFlight;
+        this.visualizationDir = visualizationDir;
+        this.cache = cache;
+    }
+
+    /**
+     * Per-graph hook for callers. {@code inspect} runs on a solver thread right after the graph is
+     * solved, so expensive per-graph analysis runs in parallel; {@code report} gets its result on
+     * the serializing thread, in input order, after the result has been appended to the writer.
+     */
+    public interface Listener<T> {
+        T inspect(JSONHandler.GraphData graph, JSONHandler.ResultData result);
+
+        void report(JSONHandler.GraphData graph, JSONHandler.ResultData result, T inspection);
+    }
+
+    /**
+     * Runs every graph through the pipeline. {@code listener} is called on the serializing thread,
+     * in input order, after a result has been appended to {@code writer}. Returns the number of
+     * graphs solved.
+     */
+    public int run(Stream<JSONHandler.GraphData> graphs, JSONHandler.ResultWriter writer,
+                   BiConsumer<JSONHandler.GraphData, JSONHandler.ResultData> listener) throws InterruptedException {
+        return run(graphs, writer, new Listener<Void>() {
+            @Override
+            public Void inspect(JSONHandler.GraphData graph, JSONHandler.ResultData result) {
+                return null;
+            }
+
+            @Override
+            public void report(JSONHandler.GraphData graph, JSONHandler.ResultData result, Void inspection) {
+                if (listener != null) {
+                    listener.accept(graph, result);
+                }
+            }
+        });
+    }
+
+    public <T> int run(Stream<JSONHandler.GraphData> graphs, JSONHandler.ResultWriter writer,
+                       Listener<T> listener) throws InterruptedException {
+        BlockingQueue<Task> parsed = new ArrayBlockingQueue<>(maxInFlight + solverThreads);
+        BlockingQueue<Task> solved = new ArrayBlockingQueue<>(maxInFlight + solverThreads);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        ExecutorService solvers = Executors.newFixedThreadPool(solverThreads, named("pipeline-solve"));
+        ThreadPoolExecutor renderers = new ThreadPoolExecutor(renderThreads, renderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxInFlight), named("pipeline-render"), new ThreadPoolExecutor.CallerRunsPolicy());
+        AtomicReference<Throwable> parseFailure = new AtomicReference<>();
+        Thread parser = named("pipeline-parse").newThread(() -> parse(graphs, parsed, inFlight, parseFailure));
+
+        int emitted = 0;
+        try {
+            parser.start();
+            for (int i = 0; i < solverThreads; i++) {
+                solvers.execute(() -> solve(parsed, solved, listener));
+            }
+
+            Map<Long, Task> pending = new HashMap<>();
+            long nextSequence = 0;
+            int finishedSolvers = 0;
+            while (finishedSolvers < solverThreads) {
+                Task task = solved.take();
+                if (task == POISON) {
+                    finishedSolvers++;
+                    continue;
+                }
+                pending.put(task.sequence, task);
+                for (Task next = pending.remove(nextSequence); next != null; next = pending.remove(nextSequence)) {
+                    nextSequence++;
+                    if (serialize(next, writer, listener, renderers)) {
+                        emitted++;
+                    }
+                    inFlight.release();
+                }
+            }
+            parser.join();
+            Throwable failure = parseFailure.get();
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            if (failure != null) {
+                throw (RuntimeException) failure;
+            }
+        } finally {
+            parser.interrupt();
+            solvers.shutdownNow();
+            renderers.shutdown();
+            solvers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            renderers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        return emitted;
+    }
+
+    private void parse(Stream<JSONHandler.GraphData> graphs, BlockingQueue<Task> parsed, Semaphore inFlight,
+                       AtomicReference<Throwable> failure) {
+        long sequence = 0;
+        try {
+            Iterator<JSONHandler.GraphData> iterator = graphs.iterator();
+            while (iterator.hasNext()) {
+                JSONHandler.GraphData data = iterator.next();
+                inFlight.acquire();
+                parsed.put(new Task(sequence++, data));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error e) {
+            failure.set(e);
+        } finally {
+            for (int i = 0; i < solverThreads; i++) {
+                parsed.offer(POISON);
+            }
+        }
+    }
+
+    private void solve(BlockingQueue<Task> parsed, BlockingQueue<Task> solved, Listener<?> listener) {
+        try {
+            while (true) {
+                Task task = parsed.take();
+                if (task == POISON) {
+                    break;
+                }
+                try {
+                    CompactGraph graph = task.data.compact;
+                    MSTResult primResult;
+                    MSTResult kruskalResult;
+                    MSTResult autoResult = null;
+                    MSTResultCache.CachedResults cached = null;
+                    if (cache != null) {
+                        task.cacheKey = MSTResultCache.key(graph);
+                        cached = cache.get(task.cacheKey);
+                    }
+                    if (cached != null) {
+                        primResult = cached.primResult;
+                        kruskalResult = cached.kruskalResult;
+                        if (solver != null) {
+                            autoResult = cached.autoResult;
+                            if (autoResult == null) {
+                                autoResult = solver.findMST(graph);
+                                cache.put(task.cacheKey,
+                                        new MSTResultCache.CachedResults(primResult, kruskalResult, autoResult));
+                            }
+                        }
+                    } else {
+                        primResult = prim.findMST(graph);
+                        kruskalResult = kruskal.findMST(graph);
+                        if (solver != null) {
+                            autoResult = solver.findMST(graph);
+                        }
+                        if (cache != null) {
+                            cache.put(task.cacheKey,
+                                    new MSTResultCache.CachedResults(primResult, kruskalResult, autoResult));
+                        }
+                    }
+                    task.primResult = primResult;
+                    task.result = new JSONHandler.ResultData(task.data.id, graph.getVertexCount(),
+                            graph.getEdgeCount(), primResult, kruskalResult, autoResult);
+                    task.inspection = listener.inspect(task.data, task.result);
+                } catch (Throwable e) {
+                    task.error = e;
+                }
+                solved.put(task);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // never blocks: at most maxInFlight tasks and solverThreads markers are ever queued
+            solved.offer(POISON);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> boolean serialize(Task task, JSONHandler.ResultWriter writer, Listener<T> listener,
+                                  ExecutorService renderers) {
+        if (task.error instanceof Error) {
+            throw (Error) task.error;
+        }
+        if (task.error != null) {
+            System.err.println("Error solving graph #" + task.data.id + ": " + task.error.getMessage());
+            return false;
+        }
+        writer.append(task.result);
+        listener.report(task.data, task.result, (T) task.inspection);
+        if (visualizationDir != null) {
+            File image = GraphVisualizer.imageFile(task.data.id, visualizationDir);
+            renderers.execute(() -> {
+                if (cache != null && cache.copyImage(task.cacheKey, task.data.id, image.toPath())) {
+                    return;
+                }
+                boolean saved = GraphVisualizer.visualizeGraph(task.data.id, task.data.graph(),
+                        task.primResult, visualizationDir);
+                if (saved && cache != null) {
+                    cache.putImage(task.cacheKey, task.data.id, image.toPath());
+                }
+            });
+        }
+        return true;
+    }
+
+    private static ThreadFactory named(String prefix) {
+        ThreadFactory defaults = Executors.defaultThreadFactory();
+        int[] counter = new int[1];
+        return runnable -> {
+            Thread thread = defaults.newThread(runnable);
+            synchronized (counter) {
+                thread.setName(prefix + "-" + counter[0]++);
+            }
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class Task {
+        final long sequence;
+        final JSONHandler.GraphData data;
+        MSTResult primResult;
+        JSONHandler.ResultData result;
+        String cacheKey;
+        Object inspection;
+        Throwable error;
+
+        Task(long sequence, JSONHandler.GraphData data) {
+            this.sequence = sequence;
+            this.data = data;
+        }
+    }
+}
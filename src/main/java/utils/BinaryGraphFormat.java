@@ -0,0 +1,259 @@
+package utils;
+
+import graph.CompactGraph;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Binary graph file, big-endian:
+ * <pre>
+ * header   int magic, int version
+ * graph*   int id, int vertexCount, int edgeCount, int nameBytes,
+ *          names (int length + UTF-8 bytes each, padded to 4 bytes),
+ *          int[V+1] offsets, int[2E] targets, int[2E] weights,
+ *          int[E] edgeFrom, int[E] edgeTo, int[E] edgeWeight
+ * index    long[graphCount] graph positions
+ * trailer  long indexPosition, int graphCount, int magic
+ * </pre>
+ * Arrays are stored in {@link CompactGraph} CSR order, so loading is a bulk copy with no parsing
+ * or CSR rebuild. The trailer and index let a reader map any single graph directly; each array is
+ * mapped in chunks, so graphs larger than one 2 GB mapping load too.
+ */
+public class BinaryGraphFormat {
+    public static final String EXTENSION = ".mstg";
+    private static final int MAGIC = 0x4D535447;
+    private static final int VERSION = 1;
+    private static final int TRAILER_BYTES = 16;
+    private static final int MAX_MAP_INTS = 1 << 28;
+
+    public static boolean isBinary(String filename) {
+        return filename.endsWith(EXTENSION);
+    }
+
+    public static int write(String filename, Iterator<JSONHandler.GraphData> graphs) {
+        List<Long> positions = new ArrayList<>();
+        try (CompressedIO.CountingOutputStream counter = new CompressedIO.CountingOutputStream(
+                new BufferedOutputStream(new FileOutputStream(filename), 1 << 16));
+             DataOutputStream out = new DataOutputStream(counter)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            while (graphs.hasNext()) {
+                JSONHandler.GraphData data = graphs.next();
+                positions.add(counter.count);
+                writeGraph(out, data.id, data.compact);
+            }
+
+            long indexPosition = counter.count;
+            for (long position : positions) {
+                out.writeLong(position);
+            }
+            out.writeLong(indexPosition);
+            out.writeInt(positions.size());
+            out.writeInt(MAGIC);
+        } catch (IOException e) {
+            System.err.println("Error writing binary graph file: " + e.getMessage());
+            return -1;
+        }
+        return positions.size();
+    }
+
+    private static void writeGraph(DataOutputStream out, int id, CompactGraph graph) throws IOException {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        byte[][] encoded = new byte[n][];
+        int nameBytes = 0;
+        for (int i = 0; i < n; i++) {
+            encoded[i] = graph.getNodeName(i).getBytes(StandardCharsets.UTF_8);
+            nameBytes += 4 + encoded[i].length;
+        }
+        int padding = (4 - nameBytes % 4) % 4;
+
+        out.writeInt(id);
+        out.writeInt(n);
+        out.writeInt(m);
+        out.writeInt(nameBytes + padding);
+        for (byte[] name : encoded) {
+            out.writeInt(name.length);
+            out.write(name);
+        }
+        out.write(new byte[padding]);
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        int[] edgeWeights = graph.getEdgeWeights();
+        writeInts(out, n + 1, i -> offsets[i]);
+        writeInts(out, 2 * m, i -> targets[i]);
+        writeInts(out, 2 * m, i -> weights[i]);
+        writeInts(out, m, graph::getEdgeFrom);
+        writeInts(out, m, graph::getEdgeTo);
+        writeInts(out, m, i -> edgeWeights[i]);
+    }
+
+    private static void writeInts(DataOutputStream out, int count, IntUnaryOperator valueAt) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(Math.min(count, 8192) * 4);
+        for (int i = 0; i < count; i++) {
+            if (!chunk.hasRemaining()) {
+                out.write(chunk.array(), 0, chunk.position());
+                chunk.clear();
+            }
+            chunk.putInt(valueAt.applyAsInt(i));
+        }
+        out.write(chunk.array(), 0, chunk.position());
+    }
+
+    public static Stream<JSONHandler.GraphData> stream(String filename) {
+        MappedGraphFile file;
+        try {
+            file = new MappedGraphFile(filename);
+        } catch (IOException e) {
+            System.err.println("Error reading binary graph file: " + e.getMessage());
+            return Stream.empty();
+        }
+        Iterator<JSONHandler.GraphData> iterator = new Iterator<JSONHandler.GraphData>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < file.size();
+            }
+
+            @Override
+            public JSONHandler.GraphData next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int index = next++;
+                try {
+                    return new JSONHandler.GraphData(file.getId(index), file.load(index));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliterator(iterator, file.size(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(file::close);
+    }
+
+    /** Random access to the graphs in a binary file; each graph's region is memory-mapped on load. */
+    public static class MappedGraphFile implements Closeable {
+        private final FileChannel channel;
+        private final long[] positions;
+
+        public MappedGraphFile(String filename) throws IOException {
+            channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+            try {
+                long size = channel.size();
+                if (size < 8 + TRAILER_BYTES) {
+                    throw new IOException("Not a binary graph file: " + filename);
+                }
+                ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, 8);
+                ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_BYTES, TRAILER_BYTES);
+                long indexPosition = trailer.getLong();
+                int count = trailer.getInt();
+                if (header.getInt() != MAGIC || trailer.getInt() != MAGIC) {
+                    throw new IOException("Bad magic in binary graph file: " + filename);
+                }
+                int version = header.getInt();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported binary graph version " + version + " in " + filename);
+                }
+
+                positions = new long[count + 1];
+                ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexPosition, 8L * count);
+                for (int i = 0; i < count; i++) {
+                    positions[i] = index.getLong();
+                }
+                positions[count] = indexPosition;
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        public int size() {
+            return positions.length - 1;
+        }
+
+        public int getId(int index) throws IOException {
+            return map(index, 0, 4).getInt();
+        }
+
+        public CompactGraph load(int index) throws IOException {
+            ByteBuffer header = map(index, 0, 16);
+            header.getInt();
+            int n = header.getInt();
+            int m = header.getInt();
+            int nameBytes = header.getInt();
+            long arraysStart = 16L + nameBytes;
+            long end = arraysStart + 4L * (n + 1) + 4L * 7 * m;
+            if (n < 0 || m < 0 || nameBytes < 0 || end > positions[index + 1] - positions[index]) {
+                throw new IOException("Truncated or corrupt graph at index " + index);
+            }
+
+            ByteBuffer nameBuffer = map(index, 16, nameBytes);
+            String[] names = new String[n];
+            try {
+                for (int i = 0; i < n; i++) {
+                    byte[] bytes = new byte[nameBuffer.getInt()];
+                    nameBuffer.get(bytes);
+                    names[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt node names in graph at index " + index, e);
+            }
+
+            long position = arraysStart;
+            int[] offsets = readInts(index, position, n + 1);
+            int[] targets = readInts(index, position += 4L * (n + 1), 2 * m);
+            int[] weights = readInts(index, position += 8L * m, 2 * m);
+            int[] edgeFrom = readInts(index, position += 8L * m, m);
+            int[] edgeTo = readInts(index, position += 4L * m, m);
+            int[] edgeWeight = readInts(index, position + 4L * m, m);
+
+            try {
+                return CompactGraph.fromArrays(names, offsets, targets, weights, edgeFrom, edgeTo, edgeWeight);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt graph at index " + index + ": " + e.getMessage(), e);
+            }
+        }
+
+        private MappedByteBuffer map(int index, long offset, long length) throws IOException {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Graph index " + index + " of " + size());
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, positions[index] + offset, length);
+        }
+
+        /** Reads {@code count} ints, mapping at most {@link #MAX_MAP_INTS} of them at a time. */
+        private int[] readInts(int index, long offset, int count) throws IOException {
+            int[] values = new int[count];
+            for (int done = 0; done < count; ) {
+                int chunk = Math.min(count - done, MAX_MAP_INTS);
+                map(index, offset + 4L * done, 4L * chunk).asIntBuffer().get(values, done, chunk);
+                done += chunk;
+            }
+            return values;
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing binary graph file: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package utils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opens text files for JSON I/O, transparently (de)compressing {@code .gz} files as a stream with
+ * large buffers. Compressed streams report their throughput when closed.
+ */
+public class CompressedIO {
+    public static final String GZIP_EXTENSION = ".gz";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static boolean isCompressed(String filename) {
+        return filename.endsWith(GZIP_EXTENSION);
+    }
+
+    public static Reader openReader(String filename) throws IOException {
+        if (!isCompressed(filename)) {
+            return new BufferedReader(new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+        CountingInputStream compressed = new CountingInputStream(new FileInputStream(filename));
+        InputStream inflated = new GZIPInputStream(new BufferedInputStream(compressed, BUFFER_SIZE), BUFFER_SIZE);
+        MeteredInputStream metered = new MeteredInputStream(inflated, compressed, filename);
+        return new BufferedReader(new InputStreamReader(metered, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    public static Writer openWriter(String filename) throws IOException {
+        if (!isCompressed(filename)) {
+            return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+        CountingOutputStream compressed = new CountingOutputStream(new FileOutputStream(filename));
+        // syncFlush so flush() pushes pending deflater output to disk, not just the buffered bytes
+        OutputStream deflating = new GZIPOutputStream(new BufferedOutputStream(compressed, BUFFER_SIZE), BUFFER_SIZE, true);
+        MeteredOutputStream metered = new MeteredOutputStream(deflating, compressed, filename);
+        return new BufferedWriter(new OutputStreamWriter(metered, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static void report(String action, String filename, long plainBytes, long compressedBytes, long startNanos) {
+        double seconds = Math.max((System.nanoTime() - startNanos) / 1e9, 1e-9);
+        double plainMb = plainBytes / (1024.0 * 1024.0);
+        System.out.println(String.format("%s %s: %.2f MB <-> %.2f MB compressed in %.2f s (%.1f MB/s)",
+                action, filename, plainMb, compressedBytes / (1024.0 * 1024.0), seconds, plainMb / seconds));
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+
+    private static class MeteredInputStream extends CountingInputStream {
+        private final CountingInputStream compressed;
+        private final String filename;
+        private final long startNanos = System.nanoTime();
+        private boolean closed;
+
+        MeteredInputStream(InputStream in, CountingInputStream compressed, String filename) {
+            super(in);
+            this.compressed = compressed;
+            this.filename = filename;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            if (!closed) {
+                closed = true;
+                report("Inflated", filename, count, compressed.count, startNanos);
+            }
+        }
+    }
+
+    static class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private static class MeteredOutputStream extends CountingOutputStream {
+        private final CountingOutputStream compressed;
+        private final String filename;
+        private final long startNanos = System.nanoTime();
+        private boolean closed;
+
+        MeteredOutputStream(OutputStream out, CountingOutputStream compressed, String filename) {
+            super(out);
+            this.compressed = compressed;
+            this.filename = filename;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            if (!closed) {
+                closed = true;
+                report("Deflated", filename, count, compressed.count, startNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package utils;
+
+import graph.CompactGraph;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Flat binary edge list for graphs too large to hold in memory, big-endian:
+ * <pre>
+ * header   int magic, int vertexCount
+ * edge*    int from, int to, int weight
+ * </pre>
+ * There is no edge count, so writers can stream edges of unknown number and readers stop at EOF.
+ */
+public class EdgeListFile {
+    public static final String EXTENSION = ".edges";
+    public static final int EDGE_BYTES = 12;
+    private static final int MAGIC = 0x4D535445;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static void write(Path file, CompactGraph graph) throws IOException {
+        try (Writer writer = new Writer(file, graph.getVertexCount())) {
+            for (int e = 0; e < graph.getEdgeCount(); e++) {
+                writer.add(graph.getEdgeFrom(e), graph.getEdgeTo(e), graph.getEdgeWeight(e));
+            }
+        }
+    }
+
+    public static long edgeCount(Path file) throws IOException {
+        return (Files.size(file) - 8) / EDGE_BYTES;
+    }
+
+    public static class Writer implements Closeable {
+        private final DataOutputStream out;
+        private final int vertexCount;
+        private long written;
+
+        public Writer(Path file, int vertexCount) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+            this.vertexCount = vertexCount;
+            out.writeInt(MAGIC);
+            out.writeInt(vertexCount);
+        }
+
+        public void add(int from, int to, int weight) throws IOException {
+            if (from < 0 || from >= vertexCount || to < 0 || to >= vertexCount) {
+                throw new IllegalArgumentException("Invalid node id: " + from + " or " + to);
+            }
+            out.writeInt(from);
+            out.writeInt(to);
+            out.writeInt(weight);
+            written++;
+        }
+
+        public long getWrittenCount() {
+            return written;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /** Sequential reader; {@link #next()} loads one edge into {@link #from}, {@link #to} and {@link #weight}. */
+    public static class Reader implements Closeable {
+        private final DataInputStream in;
+        private final int vertexCount;
+        public int from;
+        public int to;
+        public int weight;
+
+        public Reader(Path file) throws IOException {
+            this(file, BUFFER_SIZE);
+        }
+
+        public Reader(Path file, int bufferSize) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), bufferSize));
+            try {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("Not an edge list file: " + file);
+                }
+                this.vertexCount = in.readInt();
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        public int getVertexCount() {
+            return vertexCount;
+        }
+
+        public boolean next() throws IOException {
+            try {
+                from = in.readInt();
+            } catch (EOFException e) {
+                return false;
+            }
+            to = in.readInt();
+            weight = in.readInt();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package utils;
+
+import java.io.IOException;
+
+/** Receives edges one at a time by int node id, e.g. an {@link EdgeListFile.Writer}. */
+@FunctionalInterface
+public interface EdgeSink {
+    void accept(int from, int to, int weight) throws IOException;
+}
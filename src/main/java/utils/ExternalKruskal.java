@@ -0,0 +1,218 @@
+package utils;
+
+import algorithms.DisjointSet;
+import algorithms.EdgeSorter;
+import algorithms.SolverWorkspace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Kruskal for edge lists larger than the heap. The input {@link EdgeListFile} is read in chunks of
+ * {@code bufferEdges}, each chunk is sorted by weight and spilled to a temporary run, and the runs
+ * are k-way merged straight into an int union-find over the vertices. Peak memory is O(V) plus the
+ * chunk buffer; MST edges are handed to the caller as they are found.
+ */
+public class ExternalKruskal {
+    private static final int DEFAULT_BUFFER_EDGES = 1 << 20;
+    private static final int MAX_FAN_IN = 64;
+    private static final int MIN_READ_BUFFER = 1 << 13;
+
+    private final int bufferEdges;
+    private final Path tempDir;
+
+    public ExternalKruskal() {
+        this(DEFAULT_BUFFER_EDGES, null);
+    }
+
+    public ExternalKruskal(int bufferEdges, Path tempDir) {
+        if (bufferEdges < 1) {
+            throw new IllegalArgumentException("Buffer must hold at least one edge");
+        }
+        this.bufferEdges = bufferEdges;
+        this.tempDir = tempDir;
+    }
+
+    public Summary findMST(Path edgeFile, EdgeSink sink) throws IOException {
+        long startTime = System.nanoTime();
+        Path runDir = tempDir == null ? Files.createTempDirectory("mst-runs")
+                : Files.createTempDirectory(tempDir, "mst-runs");
+        try {
+            int vertexCount;
+            long edgeCount = 0;
+            List<Path> runs = new ArrayList<>();
+            try (EdgeListFile.Reader reader = new EdgeListFile.Reader(edgeFile)) {
+                vertexCount = reader.getVertexCount();
+                int capacity = (int) Math.min(bufferEdges, Math.max(1, EdgeListFile.edgeCount(edgeFile)));
+                int[] from = new int[capacity];
+                int[] to = new int[capacity];
+                int[] weight = new int[capacity];
+                int[] order = new int[capacity];
+                int count = 0;
+                while (reader.next()) {
+                    edgeCount++;
+                    if (reader.from == reader.to) {
+                        continue;
+                    }
+                    from[count] = reader.from;
+                    to[count] = reader.to;
+                    weight[count] = reader.weight;
+                    if (++count == capacity) {
+                        runs.add(writeRun(runDir, runs.size(), vertexCount, from, to, weight, order, count));
+                        count = 0;
+                    }
+                }
+                if (count > 0) {
+                    runs.add(writeRun(runDir, runs.size(), vertexCount, from, to, weight, order, count));
+                }
+            }
+            int runCount = runs.size();
+
+            int generation = 0;
+            while (runs.size() > MAX_FAN_IN) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += MAX_FAN_IN) {
+                    List<Path> group = runs.subList(i, Math.min(i + MAX_FAN_IN, runs.size()));
+                    Path target = runDir.resolve("merge-" + generation + "-" + merged.size() + EdgeListFile.EXTENSION);
+                    try (EdgeListFile.Writer writer = new EdgeListFile.Writer(target, vertexCount)) {
+                        merge(group, (u, v, w) -> {
+                            writer.add(u, v, w);
+                            return true;
+                        });
+                    }
+                    for (Path run : group) {
+                        Files.delete(run);
+                    }
+                    merged.add(target);
+                }
+                runs = merged;
+                generation++;
+            }
+
+            DisjointSet components = new DisjointSet(vertexCount);
+            long[] totalCost = new long[1];
+            int[] mstEdges = new int[1];
+            int target = Math.max(vertexCount - 1, 0);
+            merge(runs, (u, v, w) -> {
+                if (components.union(u, v)) {
+                    sink.accept(u, v, w);
+                    totalCost[0] += w;
+                    mstEdges[0]++;
+                }
+                return mstEdges[0] < target;
+            });
+
+            double executionTimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            return new Summary(vertexCount, edgeCount, mstEdges[0], totalCost[0], runCount, executionTimeMs);
+        } finally {
+            deleteRecursively(runDir);
+        }
+    }
+
+    /** Collects the MST of an edge list into a file of the same format. */
+    public Summary findMST(Path edgeFile, Path mstFile) throws IOException {
+        int vertexCount;
+        try (EdgeListFile.Reader reader = new EdgeListFile.Reader(edgeFile)) {
+            vertexCount = reader.getVertexCount();
+        }
+        try (EdgeListFile.Writer writer = new EdgeListFile.Writer(mstFile, vertexCount)) {
+            return findMST(edgeFile, writer::add);
+        }
+    }
+
+    private Path writeRun(Path runDir, int index, int vertexCount, int[] from, int[] to, int[] weight,
+                          int[] order, int count) throws IOException {
+        EdgeSorter.sort(weight, count, EdgeSorter.Strategy.AUTO, order, SolverWorkspace.current());
+        Path run = runDir.resolve("run-" + index + EdgeListFile.EXTENSION);
+        try (EdgeListFile.Writer writer = new EdgeListFile.Writer(run, vertexCount)) {
+            for (int i = 0; i < count; i++) {
+                int e = order[i];
+                writer.add(from[e], to[e], weight[e]);
+            }
+        }
+        return run;
+    }
+
+    private interface MergeSink {
+        boolean accept(int from, int to, int weight) throws IOException;
+    }
+
+    /** Streams the runs in (weight, run, position) order until {@code sink} returns false. */
+    private void merge(List<Path> runs, MergeSink sink) throws IOException {
+        int readBuffer = (int) Math.max(MIN_READ_BUFFER,
+                Math.min(Integer.MAX_VALUE, (long) bufferEdges * EdgeListFile.EDGE_BYTES / Math.max(1, runs.size())));
+        EdgeListFile.Reader[] readers = new EdgeListFile.Reader[runs.size()];
+        try {
+            PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, runs.size()), (a, b) -> {
+                int c = Integer.compare(readers[a].weight, readers[b].weight);
+                return c != 0 ? c : Integer.compare(a, b);
+            });
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = new EdgeListFile.Reader(runs.get(i), readBuffer);
+                if (readers[i].next()) {
+                    heads.add(i);
+                }
+            }
+
+            while (!heads.isEmpty()) {
+                int i = heads.poll();
+                EdgeListFile.Reader reader = readers[i];
+                if (!sink.accept(reader.from, reader.to, reader.weight)) {
+                    return;
+                }
+                if (reader.next()) {
+                    heads.add(i);
+                }
+            }
+        } finally {
+            for (EdgeListFile.Reader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Error deleting temporary runs in " + dir + ": " + e.getMessage());
+        }
+    }
+
+    public static class Summary {
+        private final int vertexCount;
+        private final long edgeCount;
+        private final int mstEdgeCount;
+        private final long totalCost;
+        private final int runCount;
+        private final double executionTimeMs;
+
+        public Summary(int vertexCount, long edgeCount, int mstEdgeCount, long totalCost, int runCount,
+                       double executionTimeMs) {
+            this.vertexCount = vertexCount;
+            this.edgeCount = edgeCount;
+            this.mstEdgeCount = mstEdgeCount;
+            this.totalCost = totalCost;
+            this.runCount = runCount;
+            this.executionTimeMs = executionTimeMs;
+        }
+
+        public int getVertexCount() { return vertexCount; }
+        public long getEdgeCount() { return edgeCount; }
+        public int getMstEdgeCount() { return mstEdgeCount; }
+        public long getTotalCost() { return totalCost; }
+        public int getRunCount() { return runCount; }
+        public double getExecutionTimeMs() { return executionTimeMs; }
+
+        @Override
+        public String toString() {
+            return String.format("\n=== External Kruskal ===\nTotal Cost: %d\nMST Edges: %d/%d\nRuns: %d\nTime: %.3f ms",
+                    totalCost, mstEdgeCount, edgeCount, runCount, executionTimeMs);
+        }
+    }
+}
@@ -66,7 +66,7 @@ public class GraphGenerator {
         }
 
         List<EdgeInput> edges = new ArrayList<>();
-        Set<String> edgeSet = new HashSet<>();
+        long[] treePairs = new long[Math.max(0, vertexCount - 1)];
 
         List<Integer> treeNodes = new ArrayList<>();
         treeNodes.add(0);
@@ -78,30 +78,34 @@ public class GraphGenerator {
             String from = nodes.get(parentIdx);
             String to = nodes.get(i);
             edges.add(new EdgeInput(from, to, weight));
-            edgeSet.add(getEdgeKey(parentIdx, i));
+            treePairs[i - 1] = pairIndex(Math.min(parentIdx, i), Math.max(parentIdx, i), vertexCount);
 
             treeNodes.add(i);
         }
+        Arrays.sort(treePairs);
 
-        int maxPossibleEdges = vertexCount * (vertexCount - 1) / 2;
-        int edgesToAdd = Math.min(targetEdges - edges.size(), maxPossibleEdges - edges.size());
+        long maxPossibleEdges = (long) vertexCount * (vertexCount - 1) / 2;
+        long freePairs = maxPossibleEdges - treePairs.length;
+        int edgesToAdd = (int) Math.min(targetEdges - edges.size(), freePairs);
 
+        // Partial Fisher-Yates over the pairs not used by the tree, kept sparse in a map, so every
+        // draw yields a new edge no matter how dense the graph already is.
+        Map<Long, Long> swapped = new HashMap<>();
         for (int i = 0; i < edgesToAdd; i++) {
-            int from = random.nextInt(vertexCount);
-            int to = random.nextInt(vertexCount);
-
-            if (from == to) continue;
-            if (from > to) { int temp = from; from = to; to = temp; }
-
-            String edgeKey = getEdgeKey(from, to);
-            if (edgeSet.contains(edgeKey)) {
-                i--;
-                continue;
+            long j = i + (long) (random.nextDouble() * (freePairs - i));
+            long picked = swapped.getOrDefault(j, j);
+            swapped.put(j, swapped.getOrDefault((long) i, (long) i));
+
+            long pair = picked;
+            for (long treePair : treePairs) {
+                if (treePair > pair) break;
+                pair++;
             }
+            int from = pairSource(pair, vertexCount);
+            int to = (int) (pair - pairIndex(from, from + 1, vertexCount)) + from + 1;
 
             int weight = random.nextInt(50) + 1;
             edges.add(new EdgeInput(nodes.get(from), nodes.get(to), weight));
-            edgeSet.add(edgeKey);
         }
 
         return new GraphInput(id, nodes, edges);
@@ -116,7 +120,16 @@ public class GraphGenerator {
         return name.toString();
     }
 
-    private static String getEdgeKey(int from, int to) {
-        return from + "-" + to;
+    /** Row-major index of pair {@code from < to} among all pairs of {@code n} nodes. */
+    private static long pairIndex(int from, int to, int n) {
+        return (long) from * (2L * n - from - 1) / 2 + (to - from - 1);
+    }
+
+    private static int pairSource(long pair, int n) {
+        int from = 0;
+        while (pairIndex(from + 1, from + 2, n) <= pair) {
+            from++;
+        }
+        return from;
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package utils;
 
+import graph.CompactGraph;
 import graph.Edge;
 import graph.Graph;
 import models.MSTResult;
@@ -22,7 +23,11 @@ public class GraphVisualizer {
         }
     }
 
-    public static void visualizeGraph(int graphId, Graph graph, MSTResult mstResult, String outputDir) {
+    public static File imageFile(int graphId, String outputDir) {
+        return new File(outputDir, String.format("graph_%02d.png", graphId));
+    }
+
+    public static boolean visualizeGraph(int graphId, Graph graph, MSTResult mstResult, String outputDir) {
         int width = 1200;
         int height = 900;
         BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
@@ -49,12 +54,14 @@ public class GraphVisualizer {
         g2d.dispose();
 
         try {
-            File outputFile = new File(outputDir, String.format("graph_%02d.png", graphId));
+            File outputFile = imageFile(graphId, outputDir);
             outputFile.getParentFile().mkdirs();
             ImageIO.write(image, "PNG", outputFile);
             System.out.println("Saved: " + outputFile.getPath());
+            return true;
         } catch (Exception e) {
             System.err.println("Error saving image: " + e.getMessage());
+            return false;
         }
     }
 
@@ -79,11 +86,14 @@ public class GraphVisualizer {
     private static void drawEdges(Graphics2D g2d, Graph graph, Map<String, Point2D> positions, Set<String> mstEdgeKeys) {
         g2d.setStroke(new BasicStroke(2));
 
-        for (Edge edge : graph.getAllEdges()) {
-            Point2D from = positions.get(edge.getFrom());
-            Point2D to = positions.get(edge.getTo());
+        CompactGraph compact = graph.toCompact();
+        for (int e = 0; e < compact.getEdgeCount(); e++) {
+            String fromNode = compact.getNodeName(compact.getEdgeFrom(e));
+            String toNode = compact.getNodeName(compact.getEdgeTo(e));
+            Point2D from = positions.get(fromNode);
+            Point2D to = positions.get(toNode);
 
-            boolean isMST = mstEdgeKeys.contains(getEdgeKey(edge.getFrom(), edge.getTo()));
+            boolean isMST = mstEdgeKeys.contains(getEdgeKey(fromNode, toNode));
 
             if (isMST) {
                 g2d.setColor(new Color(0, 150, 0));
@@ -100,7 +110,7 @@ public class GraphVisualizer {
 
             g2d.setColor(isMST ? new Color(0, 100, 0) : Color.GRAY);
             g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-            String weightStr = String.valueOf(edge.getWeight());
+            String weightStr = String.valueOf(compact.getEdgeWeight(e));
             g2d.drawString(weightStr, midX - 10, midY - 5);
         }
     }
@@ -1,16 +1,22 @@
 package utils;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import graph.CompactGraph;
 import graph.Edge;
 import graph.Graph;
 import models.MSTResult;
 
 import java.io.*;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JSONHandler {
 
-    public static void writeInputGraphs(String filename, List<GraphGenerator.GraphInput> graphs) {
+    /** Writes {@code graphs} to {@code filename}; returns false, after logging the error, if writing failed. */
+    public static boolean writeInputGraphs(String filename, List<GraphGenerator.GraphInput> graphs) {
         Gson gson = new GsonBuilder().setPrettyPrinting().create();
 
         JsonObject root = new JsonObject();
@@ -41,112 +47,412 @@ public class JSONHandler {
 
         root.add("graphs", graphsArray);
 
-        try (FileWriter writer = new FileWriter(filename)) {
+        try (Writer writer = CompressedIO.openWriter(filename)) {
             gson.toJson(root, writer);
-            System.out.println("Input graphs written to " + filename);
+            return true;
         } catch (IOException e) {
             System.err.println("Error writing input file: " + e.getMessage());
+            return false;
         }
     }
 
     public static List<GraphData> readInputGraphs(String filename) {
         List<GraphData> graphs = new ArrayList<>();
 
-        try (FileReader reader = new FileReader(filename)) {
-            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
-            JsonArray graphsArray = root.getAsJsonArray("graphs");
+        try (Stream<GraphData> stream = streamInputGraphs(filename)) {
+            stream.forEach(graphs::add);
+        }
+
+        return graphs;
+    }
+
+    /**
+     * Lazily parses one graph at a time with a streaming {@link JsonReader}; no JSON tree is built.
+     * The stream should be closed, which also closes the file if iteration stops early.
+     */
+    public static Stream<GraphData> streamInputGraphs(String filename) {
+        GraphReader reader = new GraphReader(filename);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(reader::close);
+    }
 
-            for (JsonElement graphElement : graphsArray) {
-                JsonObject graphObj = graphElement.getAsJsonObject();
+    /** Streams graphs from either a JSON file or a {@link BinaryGraphFormat} file, chosen by extension. */
+    public static Stream<GraphData> streamGraphs(String filename) {
+        if (BinaryGraphFormat.isBinary(filename)) {
+            return BinaryGraphFormat.stream(filename);
+        }
+        return streamInputGraphs(filename);
+    }
+
+    public static int convertJsonToBinary(String jsonFile, String binaryFile) {
+        try (Stream<GraphData> graphs = streamInputGraphs(jsonFile)) {
+            int count = BinaryGraphFormat.write(binaryFile, graphs.iterator());
+            if (count >= 0) {
+                System.out.println("Converted " + count + " graphs to " + binaryFile);
+            }
+            return count;
+        }
+    }
 
-                int id = graphObj.get("id").getAsInt();
-                JsonArray nodesArray = graphObj.getAsJsonArray("nodes");
-                List<String> nodes = new ArrayList<>();
-                for (JsonElement nodeElement : nodesArray) {
-                    nodes.add(nodeElement.getAsString());
+    public static int convertBinaryToJson(String binaryFile, String jsonFile) {
+        int count = 0;
+        try (Stream<GraphData> graphs = BinaryGraphFormat.stream(binaryFile);
+             JsonWriter writer = new JsonWriter(CompressedIO.openWriter(jsonFile))) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("graphs");
+            writer.beginArray();
+
+            Iterator<GraphData> iterator = graphs.iterator();
+            while (iterator.hasNext()) {
+                GraphData data = iterator.next();
+                writer.beginObject();
+                writer.name("id").value(data.id);
+                writer.name("nodes");
+                writer.beginArray();
+                CompactGraph graph = data.compact;
+                for (String node : graph.getNodes()) {
+                    writer.value(node);
+                }
+                writer.endArray();
+                writer.name("edges");
+                writer.beginArray();
+                for (int e = 0; e < graph.getEdgeCount(); e++) {
+                    writer.beginObject();
+                    writer.name("from").value(graph.getNodeName(graph.getEdgeFrom(e)));
+                    writer.name("to").value(graph.getNodeName(graph.getEdgeTo(e)));
+                    writer.name("weight").value(graph.getEdgeWeight(e));
+                    writer.endObject();
                 }
+                writer.endArray();
+                writer.endObject();
+                count++;
+            }
+
+            writer.endArray();
+            writer.endObject();
+            System.out.println("Converted " + count + " graphs to " + jsonFile);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error converting binary graph file: " + e.getMessage());
+            return -1;
+        }
+        return count;
+    }
 
-                Graph graph = new Graph(nodes);
-                JsonArray edgesArray = graphObj.getAsJsonArray("edges");
+    /** Writes {@code results} to {@code filename}; returns false, after logging the error, if writing failed. */
+    public static boolean writeOutputResults(String filename, List<ResultData> results) {
+        ResultWriter writer = new ResultWriter(filename, true, 0);
+        for (ResultData result : results) {
+            writer.append(result);
+        }
+        writer.close();
+        return !writer.hasFailed();
+    }
 
-                for (JsonElement edgeElement : edgesArray) {
-                    JsonObject edge = edgeElement.getAsJsonObject();
-                    String from = edge.get("from").getAsString();
-                    String to = edge.get("to").getAsString();
-                    int weight = edge.get("weight").getAsInt();
+    public static class GraphReader implements Iterator<GraphData>, Closeable {
+        private final String filename;
+        private JsonReader reader;
+        private GraphData next;
+        private boolean finished;
+
+        public GraphReader(String filename) {
+            this.filename = filename;
+            try {
+                reader = new JsonReader(CompressedIO.openReader(filename));
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.nextName().equals("graphs")) {
+                        reader.beginArray();
+                        return;
+                    }
+                    reader.skipValue();
+                }
+                fail(new IOException("No \"graphs\" array in " + filename));
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                next = readNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public GraphData next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            GraphData result = next;
+            next = null;
+            return result;
+        }
+
+        private GraphData readNext() {
+            try {
+                if (!reader.hasNext()) {
+                    close();
+                    return null;
+                }
+                return readGraph();
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+                return null;
+            }
+        }
+
+        private GraphData readGraph() throws IOException {
+            int id = 0;
+            CompactGraph.Builder builder = null;
+            List<GraphGenerator.EdgeInput> pending = new ArrayList<>();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id":
+                        id = reader.nextInt();
+                        break;
+                    case "nodes":
+                        List<String> nodes = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            nodes.add(reader.nextString());
+                        }
+                        reader.endArray();
+                        builder = new CompactGraph.Builder(nodes, pending.size());
+                        for (GraphGenerator.EdgeInput edge : pending) {
+                            builder.addEdge(edge.from, edge.to, edge.weight);
+                        }
+                        pending.clear();
+                        break;
+                    case "edges":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            readEdge(builder, pending);
+                        }
+                        reader.endArray();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (builder == null) {
+                throw new IOException("Graph " + id + " has no \"nodes\" array");
+            }
+            return new GraphData(id, builder.build());
+        }
 
-                    graph.addEdge(from, to, weight);
+        private void readEdge(CompactGraph.Builder builder, List<GraphGenerator.EdgeInput> pending) throws IOException {
+            String from = null;
+            String to = null;
+            int weight = 0;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "from":
+                        from = reader.nextString();
+                        break;
+                    case "to":
+                        to = reader.nextString();
+                        break;
+                    case "weight":
+                        weight = reader.nextInt();
+                        break;
+                    default:
+                        reader.skipValue();
                 }
+            }
+            reader.endObject();
 
-                graphs.add(new GraphData(id, graph));
+            if (builder != null) {
+                builder.addEdge(from, to, weight);
+            } else {
+                pending.add(new GraphGenerator.EdgeInput(from, to, weight));
             }
-        } catch (Exception e) {
+        }
+
+        private void fail(Exception e) {
             System.err.println("Error reading input file: " + e.getMessage());
             e.printStackTrace();
+            close();
         }
 
-        return graphs;
+        @Override
+        public void close() {
+            finished = true;
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing input file " + filename + ": " + e.getMessage());
+                }
+                reader = null;
+            }
+        }
     }
 
-    public static void writeOutputResults(String filename, List<ResultData> results) {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    /**
+     * Appends results to a {@code {"results": [...]}} document as they arrive, so memory does not
+     * grow with the number of results. Output is flushed every {@code flushEvery} results
+     * (0 = only on close); whatever was flushed before a crash stays on disk.
+     */
+    public static class ResultWriter implements Closeable {
+        private final String filename;
+        private final int flushEvery;
+        private JsonWriter writer;
+        private int written;
+        private boolean failed;
+
+        public ResultWriter(String filename) {
+            this(filename, true, 1);
+        }
 
-        JsonObject root = new JsonObject();
-        JsonArray resultsArray = new JsonArray();
+        public ResultWriter(String filename, boolean pretty, int flushEvery) {
+            this.filename = filename;
+            this.flushEvery = flushEvery;
+            try {
+                writer = new JsonWriter(CompressedIO.openWriter(filename));
+                writer.setHtmlSafe(true);
+                if (pretty) {
+                    writer.setIndent("  ");
+                }
+                writer.beginObject();
+                writer.name("results");
+                writer.beginArray();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
 
-        for (ResultData result : results) {
-            JsonObject resultObj = new JsonObject();
-            resultObj.addProperty("graph_id", result.graphId);
+        public synchronized void append(ResultData result) {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.beginObject();
+                writer.name("graph_id").value(result.graphId);
+
+                writer.name("input_stats");
+                writer.beginObject();
+                writer.name("vertices").value(result.vertices);
+                writer.name("edges").value(result.edges);
+                writer.endObject();
+
+                writer.name("prim");
+                writeAlgorithmResult(writer, result.primResult);
+                writer.name("kruskal");
+                writeAlgorithmResult(writer, result.kruskalResult);
+                if (result.autoResult != null) {
+                    writer.name("auto");
+                    writeAlgorithmResult(writer, result.autoResult);
+                }
+                writer.endObject();
 
-            JsonObject inputStats = new JsonObject();
-            inputStats.addProperty("vertices", result.vertices);
-            inputStats.addProperty("edges", result.edges);
-            resultObj.add("input_stats", inputStats);
+                written++;
+                if (flushEvery > 0 && written % flushEvery == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
 
-            resultObj.add("prim", createAlgorithmResult(result.primResult));
-            resultObj.add("kruskal", createAlgorithmResult(result.kruskalResult));
+        public synchronized int getWrittenCount() {
+            return written;
+        }
 
-            resultsArray.add(resultObj);
+        public synchronized boolean hasFailed() {
+            return failed;
         }
 
-        root.add("results", resultsArray);
+        private void fail(IOException e) {
+            failed = true;
+            System.err.println("Error writing output file " + filename + ": " + e.getMessage());
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException | IllegalStateException ignored) {
+                }
+                writer = null;
+            }
+        }
 
-        try (FileWriter writer = new FileWriter(filename)) {
-            gson.toJson(root, writer);
-            System.out.println("Results written to " + filename);
-        } catch (IOException e) {
-            System.err.println("Error writing output file: " + e.getMessage());
+        @Override
+        public synchronized void close() {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.endArray();
+                writer.endObject();
+                writer.close();
+                writer = null;
+            } catch (IOException e) {
+                fail(e);
+            }
         }
     }
 
-    private static JsonObject createAlgorithmResult(MSTResult result) {
-        JsonObject obj = new JsonObject();
+    private static void writeAlgorithmResult(JsonWriter writer, MSTResult result) throws IOException {
+        writer.beginObject();
 
-        JsonArray edgesArray = new JsonArray();
+        writer.name("mst_edges");
+        writer.beginArray();
         for (Edge edge : result.getMstEdges()) {
-            JsonObject edgeObj = new JsonObject();
-            edgeObj.addProperty("from", edge.getFrom());
-            edgeObj.addProperty("to", edge.getTo());
-            edgeObj.addProperty("weight", edge.getWeight());
-            edgesArray.add(edgeObj);
+            writer.beginObject();
+            writer.name("from").value(edge.getFrom());
+            writer.name("to").value(edge.getTo());
+            writer.name("weight").value(edge.getWeight());
+            writer.endObject();
         }
-        obj.add("mst_edges", edgesArray);
+        writer.endArray();
 
-        obj.addProperty("total_cost", result.getTotalCost());
-        obj.addProperty("operations_count", result.getOperationsCount());
-        obj.addProperty("execution_time_ms", Math.round(result.getExecutionTimeMs() * 100.0) / 100.0);
+        writer.name("total_cost").value(result.getTotalCost());
+        writer.name("operations_count").value(result.getOperationsCount());
+        writer.name("execution_time_ms").value(Math.round(result.getExecutionTimeMs() * 100.0) / 100.0);
+        if (result.getSelectionReason() != null) {
+            writer.name("selection_reason").value(result.getSelectionReason());
+        }
+        if (result.isCached()) {
+            writer.name("cached").value(true);
+        }
 
-        return obj;
+        writer.endObject();
     }
 
+    /**
+     * One input graph. Solvers read {@link #compact}; the {@link Graph} view is only created for
+     * consumers that want {@link Edge} objects.
+     */
     public static class GraphData {
-        public int id;
-        public Graph graph;
+        public final int id;
+        public final CompactGraph compact;
+        private volatile Graph graph;
 
-        public GraphData(int id, Graph graph) {
+        public GraphData(int id, CompactGraph compact) {
             this.id = id;
+            this.compact = compact;
+        }
+
+        public GraphData(int id, Graph graph) {
+            this(id, graph.toCompact());
             this.graph = graph;
         }
+
+        public Graph graph() {
+            Graph result = graph;
+            if (result == null) {
+                result = Graph.fromCompact(compact);
+                graph = result;
+            }
+            return result;
+        }
     }
 
     public static class ResultData {
@@ -155,14 +461,21 @@ public class JSONHandler {
         public int edges;
         public MSTResult primResult;
         public MSTResult kruskalResult;
+        public MSTResult autoResult;
 
         public ResultData(int graphId, int vertices, int edges,
                           MSTResult primResult, MSTResult kruskalResult) {
+            this(graphId, vertices, edges, primResult, kruskalResult, null);
+        }
+
+        public ResultData(int graphId, int vertices, int edges,
+                          MSTResult primResult, MSTResult kruskalResult, MSTResult autoResult) {
             this.graphId = graphId;
             this.vertices = vertices;
             this.edges = edges;
             this.primResult = primResult;
             this.kruskalResult = kruskalResult;
+            this.autoResult = autoResult;
         }
     }
 }
\ No newline at end of file
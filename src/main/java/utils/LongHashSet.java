@@ -0,0 +1,76 @@
+package utils;
+
+/**
+ * Open-addressing set of longs with linear probing, for edge keys packed as
+ * {@code (long) u << 32 | v}. No boxing and one array, so it stays fast at tens of millions of
+ * entries. {@link Long#MIN_VALUE} is reserved as the empty marker.
+ */
+class LongHashSet {
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final double MAX_LOAD = 0.5;
+
+    private long[] slots;
+    private int size;
+
+    LongHashSet(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) Math.min(1 << 30, expected / MAX_LOAD)) - 1) << 1;
+        slots = new long[capacity];
+        java.util.Arrays.fill(slots, EMPTY);
+    }
+
+    /** Adds {@code key}; returns false if it was already present. */
+    boolean add(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Reserved key");
+        }
+        if (size + 1 > slots.length * MAX_LOAD) {
+            grow();
+        }
+        int mask = slots.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long current = slots[i];
+            if (current == key) {
+                return false;
+            }
+            if (current == EMPTY) {
+                slots[i] = key;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    boolean contains(long key) {
+        int mask = slots.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long current = slots[i];
+            if (current == key) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        java.util.Arrays.fill(slots, EMPTY);
+        size = 0;
+        for (long key : old) {
+            if (key != EMPTY) {
+                add(key);
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
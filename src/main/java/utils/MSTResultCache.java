@@ -0,0 +1,306 @@
+package utils;
+
+import com.google.gson.*;
+import graph.CompactGraph;
+import graph.Edge;
+import graph.Graph;
+import models.MSTResult;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of solved graphs. Keys are SHA-256 hashes of the canonical graph
+ * (sorted node names, edges sorted by endpoint rank and weight), so the same network hashes the
+ * same regardless of node or edge order. A bounded LRU map sits in front of an optional directory
+ * of {@code <key>.json} files that survives between runs; the same directory keeps rendered images
+ * as {@code <key>-<graph id>.png}, since the picture's title shows the id. Results returned by {@link #get} are marked
+ * {@link MSTResult#isCached() cached}, since their timings come from the run that solved them.
+ */
+public class MSTResultCache {
+    private static final int FORMAT_VERSION = 1;
+
+    private final int maxEntries;
+    private final Path directory;
+    private final Map<String, CachedResults> memory;
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public MSTResultCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    public MSTResultCache(int maxEntries, String directory) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one entry");
+        }
+        this.maxEntries = maxEntries;
+        this.directory = directory == null ? null : Paths.get(directory);
+        this.memory = new LinkedHashMap<String, CachedResults>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResults> eldest) {
+                return size() > MSTResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    public static String key(Graph graph) {
+        return key(graph.toCompact());
+    }
+
+    public static String key(CompactGraph graph) {
+        List<String> names = new ArrayList<>(graph.getNodes());
+        Collections.sort(names);
+        int[] rank = new int[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            rank[graph.getNodeId(names.get(i))] = i;
+        }
+
+        int edgeCount = graph.getEdgeCount();
+        long[][] canonical = new long[edgeCount][];
+        for (int e = 0; e < edgeCount; e++) {
+            int a = rank[graph.getEdgeFrom(e)];
+            int b = rank[graph.getEdgeTo(e)];
+            canonical[e] = new long[] {Math.min(a, b), Math.max(a, b), graph.getEdgeWeight(e)};
+        }
+        Arrays.sort(canonical, (x, y) -> {
+            for (int k = 0; k < 3; k++) {
+                int c = Long.compare(x[k], y[k]);
+                if (c != 0) return c;
+            }
+            return 0;
+        });
+
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(12);
+        digest.update(buffer.putInt(FORMAT_VERSION).putInt(names.size()).putInt(edgeCount).array());
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            buffer.clear();
+            digest.update(buffer.putInt(bytes.length).array(), 0, 4);
+            digest.update(bytes);
+        }
+        for (long[] edge : canonical) {
+            buffer.clear();
+            digest.update(buffer.putInt((int) edge[0]).putInt((int) edge[1]).putInt((int) edge[2]).array());
+        }
+
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /** Returns the cached entry for {@code key}, or null on a miss in both tiers. */
+    public CachedResults get(String key) {
+        synchronized (memory) {
+            CachedResults entry = memory.get(key);
+            if (entry != null) {
+                memoryHits.incrementAndGet();
+                return entry;
+            }
+        }
+        CachedResults entry = readFromDisk(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        diskHits.incrementAndGet();
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        return entry;
+    }
+
+    public void put(String key, CachedResults entry) {
+        synchronized (memory) {
+            memory.put(key, new CachedResults(entry.primResult.asCached(), entry.kruskalResult.asCached(),
+                    entry.autoResult == null ? null : entry.autoResult.asCached()));
+        }
+        writeToDisk(key, entry);
+    }
+
+    /**
+     * Keeps a copy of the image rendered for {@code key} as graph {@code graphId}. Does nothing
+     * without a cache directory.
+     */
+    public void putImage(String key, int graphId, Path image) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.copy(image, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, imageFile(key, graphId), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error caching image " + key + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copies the image cached for {@code key} as graph {@code graphId} to {@code target}. Returns
+     * false, leaving {@code target} alone, when there is no such image.
+     */
+    public boolean copyImage(String key, int graphId, Path target) {
+        if (directory == null) {
+            return false;
+        }
+        Path image = imageFile(key, graphId);
+        if (!Files.isRegularFile(image)) {
+            return false;
+        }
+        try {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            Files.copy(image, target, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error copying cached image " + key + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    public int size() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    public long getHitCount() {
+        return memoryHits.get() + diskHits.get();
+    }
+
+    public long getMemoryHitCount() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHitCount() {
+        return diskHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private Path imageFile(String key, int graphId) {
+        return directory.resolve(key + "-" + graphId + ".png");
+    }
+
+    private CachedResults readFromDisk(String key) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(key + ".json");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+            if (root.get("version").getAsInt() != FORMAT_VERSION) {
+                return null;
+            }
+            JsonObject auto = root.getAsJsonObject("auto");
+            return new CachedResults(readResult(root.getAsJsonObject("prim")).asCached(),
+                    readResult(root.getAsJsonObject("kruskal")).asCached(),
+                    auto == null ? null : readResult(auto).asCached());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading cache entry " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, CachedResults entry) {
+        if (directory == null) {
+            return;
+        }
+        JsonObject root = new JsonObject();
+        root.addProperty("version", FORMAT_VERSION);
+        root.add("prim", writeResult(entry.primResult));
+        root.add("kruskal", writeResult(entry.kruskalResult));
+        if (entry.autoResult != null) {
+            root.add("auto", writeResult(entry.autoResult));
+        }
+
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                new Gson().toJson(root, writer);
+            }
+            Files.move(temp, directory.resolve(key + ".json"), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing cache entry " + key + ": " + e.getMessage());
+        }
+    }
+
+    private static JsonObject writeResult(MSTResult result) {
+        JsonObject json = new JsonObject();
+        json.addProperty("algorithm", result.getAlgorithmName());
+        JsonArray edges = new JsonArray();
+        for (Edge edge : result.getMstEdges()) {
+            JsonObject edgeJson = new JsonObject();
+            edgeJson.addProperty("from", edge.getFrom());
+            edgeJson.addProperty("to", edge.getTo());
+            edgeJson.addProperty("weight", edge.getWeight());
+            edges.add(edgeJson);
+        }
+        json.add("mst_edges", edges);
+        json.addProperty("total_cost", result.getTotalCost());
+        json.addProperty("vertices", result.getVertexCount());
+        json.addProperty("edges", result.getOriginalEdgeCount());
+        json.addProperty("operations_count", result.getOperationsCount());
+        json.addProperty("execution_time_ms", result.getExecutionTimeMs());
+        if (result.getSelectionReason() != null) {
+            json.addProperty("selection_reason", result.getSelectionReason());
+        }
+        return json;
+    }
+
+    private static MSTResult readResult(JsonObject json) {
+        List<Edge> edges = new ArrayList<>();
+        for (JsonElement element : json.getAsJsonArray("mst_edges")) {
+            JsonObject edge = element.getAsJsonObject();
+            edges.add(new Edge(edge.get("from").getAsString(), edge.get("to").getAsString(),
+                    edge.get("weight").getAsInt()));
+        }
+        JsonElement reason = json.get("selection_reason");
+        return new MSTResult(json.get("algorithm").getAsString(), edges, json.get("total_cost").getAsInt(),
+                json.get("vertices").getAsInt(), json.get("edges").getAsInt(),
+                json.get("operations_count").getAsLong(), json.get("execution_time_ms").getAsDouble(),
+                reason == null ? null : reason.getAsString());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static class CachedResults {
+        public final MSTResult primResult;
+        public final MSTResult kruskalResult;
+        public final MSTResult autoResult;
+
+        public CachedResults(MSTResult primResult, MSTResult kruskalResult) {
+            this(primResult, kruskalResult, null);
+        }
+
+        public CachedResults(MSTResult primResult, MSTResult kruskalResult, MSTResult autoResult) {
+            this.primResult = primResult;
+            this.kruskalResult = kruskalResult;
+            this.autoResult = autoResult;
+        }
+    }
+}
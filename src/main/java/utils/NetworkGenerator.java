@@ -0,0 +1,376 @@
+package utils;
+
+import graph.CompactGraph;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Seeded generator for large synthetic networks. Edges are produced in fixed-size chunks, each
+ * with its own random stream derived from the seed and chunk index, so the output is identical
+ * for any thread count. Chunks are generated in parallel and handed to the sink in order, with
+ * a bounded number in flight, so graphs far larger than the heap can be streamed to disk.
+ * Nodes are int ids {@code 0..V-1}; weights are in {@code 1..maxWeight}.
+ */
+public class NetworkGenerator {
+    private static final int CHUNK_VERTICES = 1 << 14;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final int threads;
+
+    public NetworkGenerator(long seed) {
+        this(seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public NetworkGenerator(long seed, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.seed = seed;
+        this.threads = threads;
+    }
+
+    /** Road-like lattice: {@code rows × cols} intersections, each joined to its right and lower neighbour. */
+    public long grid(int rows, int cols, int maxWeight, EdgeSink sink) throws IOException {
+        checkWeight(maxWeight);
+        long vertexCount = (long) rows * cols;
+        checkVertices(vertexCount);
+        int rowsPerChunk = Math.max(1, CHUNK_VERTICES / Math.max(1, cols));
+        int chunkCount = (rows + rowsPerChunk - 1) / rowsPerChunk;
+
+        return runChunks(chunkCount, sink, (chunk, random) -> {
+            int firstRow = chunk * rowsPerChunk;
+            int lastRow = Math.min(rows, firstRow + rowsPerChunk);
+            EdgeChunk edges = new EdgeChunk(2 * (lastRow - firstRow) * cols);
+            for (int r = firstRow; r < lastRow; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int u = r * cols + c;
+                    if (c + 1 < cols) {
+                        edges.add(u, u + 1, weight(random, maxWeight));
+                    }
+                    if (r + 1 < rows) {
+                        edges.add(u, u + cols, weight(random, maxWeight));
+                    }
+                }
+            }
+            return edges;
+        });
+    }
+
+    /**
+     * Random geometric graph: points uniform in the unit square, joined when closer than the radius
+     * that gives {@code averageDegree}. Weights are proportional to Euclidean distance.
+     */
+    public long geometric(int vertexCount, double averageDegree, int maxWeight, EdgeSink sink) throws IOException {
+        checkWeight(maxWeight);
+        double radius = Math.min(Math.sqrt(2), Math.sqrt(averageDegree / (Math.PI * Math.max(1, vertexCount))));
+        double[] x = new double[vertexCount];
+        double[] y = new double[vertexCount];
+        SplittableRandom pointRandom = new SplittableRandom(seed);
+        for (int i = 0; i < vertexCount; i++) {
+            x[i] = pointRandom.nextDouble();
+            y[i] = pointRandom.nextDouble();
+        }
+
+        int cells = Math.max(1, Math.min((int) Math.floor(1 / radius), (int) Math.sqrt(vertexCount) + 1));
+        int[] cellStart = new int[cells * cells + 1];
+        int[] cellOf = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            int cx = Math.min(cells - 1, (int) (x[i] * cells));
+            int cy = Math.min(cells - 1, (int) (y[i] * cells));
+            cellOf[i] = cy * cells + cx;
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] byCell = new int[vertexCount];
+        int[] cursor = Arrays.copyOf(cellStart, cells * cells);
+        for (int i = 0; i < vertexCount; i++) {
+            byCell[cursor[cellOf[i]]++] = i;
+        }
+
+        int chunkCount = (vertexCount + CHUNK_VERTICES - 1) / CHUNK_VERTICES;
+        return runChunks(chunkCount, sink, (chunk, random) -> {
+            EdgeChunk edges = new EdgeChunk((int) Math.min(Integer.MAX_VALUE - 8, (long) (averageDegree / 2 + 1) * CHUNK_VERTICES));
+            int first = chunk * CHUNK_VERTICES;
+            int last = Math.min(vertexCount, first + CHUNK_VERTICES);
+            for (int u = first; u < last; u++) {
+                int cx = cellOf[u] % cells;
+                int cy = cellOf[u] / cells;
+                for (int ny = Math.max(0, cy - 1); ny <= Math.min(cells - 1, cy + 1); ny++) {
+                    for (int nx = Math.max(0, cx - 1); nx <= Math.min(cells - 1, cx + 1); nx++) {
+                        int cell = ny * cells + nx;
+                        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                            int v = byCell[k];
+                            if (v <= u) {
+                                continue;
+                            }
+                            double distance = Math.hypot(x[u] - x[v], y[u] - y[v]);
+                            if (distance <= radius) {
+                                int w = (int) Math.ceil(distance / radius * maxWeight);
+                                edges.add(u, v, Math.max(1, Math.min(maxWeight, w)));
+                            }
+                        }
+                    }
+                }
+            }
+            return edges;
+        });
+    }
+
+    /**
+     * Barabási–Albert preferential attachment: every new node joins {@code edgesPerNode} distinct
+     * existing nodes chosen with probability proportional to degree. Each step depends on all
+     * earlier ones, so this topology is generated on the calling thread.
+     */
+    public long scaleFree(int vertexCount, int edgesPerNode, int maxWeight, EdgeSink sink) throws IOException {
+        checkWeight(maxWeight);
+        if (edgesPerNode < 1) {
+            throw new IllegalArgumentException("Each node needs at least one edge");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        int core = Math.min(vertexCount, edgesPerNode + 1);
+        long edgeCount = (long) core * (core - 1) / 2 + (long) Math.max(0, vertexCount - core) * edgesPerNode;
+        if (2 * edgeCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges for preferential attachment: " + edgeCount);
+        }
+        int[] endpoints = new int[(int) (2 * edgeCount)];
+        int filled = 0;
+
+        for (int u = 0; u < core; u++) {
+            for (int v = u + 1; v < core; v++) {
+                sink.accept(u, v, weight(random, maxWeight));
+                endpoints[filled++] = u;
+                endpoints[filled++] = v;
+            }
+        }
+        int[] chosen = new int[edgesPerNode];
+        for (int u = core; u < vertexCount; u++) {
+            int picked = 0;
+            while (picked < edgesPerNode) {
+                int v = endpoints[random.nextInt(filled)];
+                boolean duplicate = false;
+                for (int k = 0; k < picked && !duplicate; k++) {
+                    duplicate = chosen[k] == v;
+                }
+                if (!duplicate) {
+                    chosen[picked++] = v;
+                }
+            }
+            for (int k = 0; k < edgesPerNode; k++) {
+                sink.accept(chosen[k], u, weight(random, maxWeight));
+                endpoints[filled++] = chosen[k];
+                endpoints[filled++] = u;
+            }
+        }
+        return edgeCount;
+    }
+
+    /**
+     * Erdős–Rényi G(n, m): {@code edgeCount} distinct node pairs chosen uniformly. Each chunk owns the
+     * pairs whose smaller endpoint falls in its vertex range and receives its share of {@code edgeCount},
+     * so duplicates only need checking within a chunk. Pairs are drawn by index over the chunk's own
+     * pairs, so the only retries are duplicates; a chunk asked for more than half of its pairs draws the
+     * pairs to leave out instead, which keeps retries below one in two at any density.
+     */
+    public long erdosRenyi(int vertexCount, long edgeCount, int maxWeight, EdgeSink sink) throws IOException {
+        checkWeight(maxWeight);
+        long pairs = (long) vertexCount * (vertexCount - 1) / 2;
+        if (edgeCount > pairs) {
+            throw new IllegalArgumentException("At most " + pairs + " edges fit on " + vertexCount + " nodes");
+        }
+        int chunkCount = (vertexCount + CHUNK_VERTICES - 1) / CHUNK_VERTICES;
+        long[] quota = new long[chunkCount];
+        long assigned = 0;
+        long pairsBefore = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            long first = (long) c * CHUNK_VERTICES;
+            long last = Math.min(vertexCount, first + CHUNK_VERTICES);
+            pairsBefore += pairsWithSmallerEndpoint(vertexCount, first, last);
+            long target = pairs == 0 ? 0 : Math.round((double) edgeCount * pairsBefore / pairs);
+            quota[c] = target - assigned;
+            assigned = target;
+        }
+
+        return runChunks(chunkCount, sink, (chunk, random) -> {
+            int first = chunk * CHUNK_VERTICES;
+            int last = Math.min(vertexCount, first + CHUNK_VERTICES);
+            if (quota[chunk] > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Chunk quota too large: " + quota[chunk]);
+            }
+            int target = (int) quota[chunk];
+            long chunkPairs = pairsWithSmallerEndpoint(vertexCount, first, last);
+            EdgeChunk edges = new EdgeChunk(target);
+            if (target <= chunkPairs / 2) {
+                LongHashSet seen = new LongHashSet(target);
+                while (edges.size < target) {
+                    long pair = random.nextLong(chunkPairs);
+                    if (seen.add(pair)) {
+                        int u = pairSource(vertexCount, first, last, pair);
+                        int v = (int) (u + 1 + pair - pairsWithSmallerEndpoint(vertexCount, first, u));
+                        edges.add(u, v, weight(random, maxWeight));
+                    }
+                }
+            } else {
+                int skipped = (int) (chunkPairs - target);
+                LongHashSet skip = new LongHashSet(skipped);
+                for (int i = 0; i < skipped; ) {
+                    if (skip.add(random.nextLong(chunkPairs))) {
+                        i++;
+                    }
+                }
+                long pair = 0;
+                for (int u = first; u < last; u++) {
+                    for (int v = u + 1; v < vertexCount; v++) {
+                        if (!skip.contains(pair++)) {
+                            edges.add(u, v, weight(random, maxWeight));
+                        }
+                    }
+                }
+            }
+            return edges;
+        });
+    }
+
+    /** Collects a generated network in memory, naming nodes {@code V0..V(n-1)}. */
+    public static CompactGraph toCompactGraph(int vertexCount, long expectedEdges, Generation generation) throws IOException {
+        List<String> names = new ArrayList<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            names.add("V" + i);
+        }
+        CompactGraph.Builder builder = new CompactGraph.Builder(names, (int) Math.min(Integer.MAX_VALUE - 8, expectedEdges));
+        generation.run(builder::addEdge);
+        return builder.build();
+    }
+
+    @FunctionalInterface
+    public interface Generation {
+        long run(EdgeSink sink) throws IOException;
+    }
+
+    private interface ChunkTask {
+        EdgeChunk generate(int chunk, SplittableRandom random);
+    }
+
+    private long runChunks(int chunkCount, EdgeSink sink, ChunkTask task) throws IOException {
+        if (threads == 1 || chunkCount <= 1) {
+            long total = 0;
+            for (int c = 0; c < chunkCount; c++) {
+                total += task.generate(c, chunkRandom(c)).drainTo(sink);
+            }
+            return total;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "network-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Deque<Future<EdgeChunk>> pending = new ArrayDeque<>();
+            int next = 0;
+            long total = 0;
+            while (next < chunkCount || !pending.isEmpty()) {
+                while (next < chunkCount && pending.size() < 2 * threads) {
+                    int chunk = next++;
+                    pending.add(pool.submit(() -> task.generate(chunk, chunkRandom(chunk))));
+                }
+                total += await(pending.poll()).drainTo(sink);
+            }
+            return total;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static EdgeChunk await(Future<EdgeChunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating network", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Error generating network", e.getCause());
+        }
+    }
+
+    private SplittableRandom chunkRandom(int chunk) {
+        return new SplittableRandom(seed + GOLDEN_GAMMA * (chunk + 1));
+    }
+
+    private static long pairsWithSmallerEndpoint(long n, long first, long last) {
+        long count = last - first;
+        return count * (n - 1) - (first + last - 1) * count / 2;
+    }
+
+    /** Smaller endpoint of the {@code pair}-th pair, counting row by row from node {@code first}. */
+    private static int pairSource(int n, int first, int last, long pair) {
+        int low = first;
+        int high = last - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (pairsWithSmallerEndpoint(n, first, mid) <= pair) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static int weight(SplittableRandom random, int maxWeight) {
+        return random.nextInt(maxWeight) + 1;
+    }
+
+    private static void checkWeight(int maxWeight) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Max weight must be positive");
+        }
+    }
+
+    private static void checkVertices(long vertexCount) {
+        if (vertexCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many vertices: " + vertexCount);
+        }
+    }
+
+    private static class EdgeChunk {
+        int[] from;
+        int[] to;
+        int[] weight;
+        int size;
+
+        EdgeChunk(int capacity) {
+            capacity = Math.max(capacity, 16);
+            from = new int[capacity];
+            to = new int[capacity];
+            weight = new int[capacity];
+        }
+
+        void add(int u, int v, int w) {
+            if (size == from.length) {
+                int capacity = size * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+            }
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            size++;
+        }
+
+        long drainTo(EdgeSink sink) throws IOException {
+            for (int i = 0; i < size; i++) {
+                sink.accept(from[i], to[i], weight[i]);
+            }
+            return size;
+        }
+    }
+}
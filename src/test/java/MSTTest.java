@@ -1,12 +1,43 @@
+import algorithms.AutoMSTSolver;
+import algorithms.BottleneckIndex;
+import algorithms.BoruvkaAlgorithm;
+import algorithms.DensePrimAlgorithm;
+import algorithms.DisjointSet;
+import algorithms.DynamicMST;
+import algorithms.EdgeSorter;
+import algorithms.EuclideanMST;
+import algorithms.FilterKruskalAlgorithm;
+import algorithms.IndexedDaryHeap;
 import algorithms.KruskalAlgorithm;
+import algorithms.MSTAlgorithm;
+import algorithms.MSTSensitivity;
 import algorithms.PrimAlgorithm;
+import algorithms.SolverWorkspace;
+import algorithms.SpanningForestSolver;
+import graph.CompactGraph;
 import graph.Edge;
 import graph.Graph;
+import models.ForestResult;
 import models.MSTResult;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.BatchPipeline;
+import utils.BinaryGraphFormat;
+import utils.EdgeListFile;
+import utils.ExternalKruskal;
+import utils.GraphGenerator;
+import utils.JSONHandler;
+import utils.NetworkGenerator;
+import utils.MSTResultCache;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class MSTTest {
 
@@ -122,6 +153,932 @@ public class MSTTest {
         assertEquals(0, result.getMstEdges().size());
     }
 
+    @Test
+    public void testCompactGraphMatchesGraph() {
+        Graph graph = createTestGraph2();
+        CompactGraph compact = graph.toCompact();
+
+        assertEquals(graph.getVertexCount(), compact.getVertexCount());
+        assertEquals(graph.getEdgeCount(), compact.getEdgeCount());
+
+        MSTResult prim = new PrimAlgorithm().findMST(compact);
+        MSTResult kruskal = new KruskalAlgorithm().findMST(compact);
+        MSTResult reference = new KruskalAlgorithm().findMST(graph);
+
+        assertEquals(reference.getTotalCost(), prim.getTotalCost());
+        assertEquals(reference.getTotalCost(), kruskal.getTotalCost());
+        assertEquals(graph.getVertexCount() - 1, prim.getMstEdges().size());
+        assertFalse(hasCycle(kruskal.getMstEdges(), graph.getNodes()));
+    }
+
+    @Test
+    public void testCompactGraphConnectivity() {
+        assertTrue(createTestGraph1().toCompact().isConnected());
+        assertFalse(createDisconnectedGraph().toCompact().isConnected());
+
+        CompactGraph compact = createTestGraph1().toCompact();
+        int b = compact.getNodeId("B");
+        assertEquals(3, compact.degree(b));
+        assertEquals(-1, compact.getNodeId("Z"));
+    }
+
+    @Test
+    public void testAdjacencyViews() {
+        Graph graph = createTestGraph1();
+
+        assertEquals(3, graph.getEdgesView("B").size());
+        assertTrue(graph.getEdgesView("Z").isEmpty());
+        assertThrows(UnsupportedOperationException.class,
+                () -> graph.getAllEdgesView().add(new Edge("A", "D", 9)));
+
+        graph.addEdge("A", "D", 9);
+        assertEquals(graph.getEdgeCount(), graph.getAllEdgesView().size());
+
+        int[] weightSum = new int[1];
+        graph.forEachNeighbor(graph.getNodeIndex("A"), (target, weight) -> weightSum[0] += weight);
+        assertEquals(1 + 4 + 9, weightSum[0]);
+
+        CompactGraph frozen = graph.toCompact();
+        Graph wrapped = Graph.fromCompact(frozen);
+        assertSame(frozen, wrapped.toCompact());
+        List<Edge> aEdges = wrapped.getEdgesView("A");
+        wrapped.addEdge("A", "C", 7);
+        assertEquals(4, aEdges.size());
+        assertEquals(new Edge("A", "C", 7), aEdges.get(3));
+        assertEquals(graph.getEdgeCount() + 1, wrapped.getEdgeCount());
+        assertEquals(graph.getEdgeCount(), frozen.getEdgeCount());
+        assertThrows(IllegalArgumentException.class, () -> wrapped.addEdge("A", "Z", 1));
+
+        // edits after a rebuild append to the kept builder; each read sees every edit so far
+        for (int i = 0; i < 3; i++) {
+            CompactGraph before = wrapped.toCompact();
+            wrapped.addEdge("B", "D", 10 + i);
+            assertEquals(before.getEdgeCount() + 1, wrapped.toCompact().getEdgeCount());
+            assertEquals(new Edge("B", "D", 10 + i), wrapped.getAllEdgesView().get(before.getEdgeCount()));
+        }
+        assertEquals(frozen.getEdgeCount() + 4, wrapped.getEdgeCount());
+    }
+
+    @Test
+    public void testDisjointSet() {
+        int n = 200_000;
+        DisjointSet set = new DisjointSet(n);
+        for (int i = 1; i < n; i++) {
+            assertTrue(set.union(i - 1, i));
+        }
+        assertFalse(set.union(0, n - 1));
+        assertEquals(1, set.getComponentCount());
+        assertEquals(n, set.setSize(12345));
+
+        set.reset(4);
+        set.union(0, 1);
+        set.union(2, 3);
+        boolean[] answers = set.connected(new int[]{0, 0, 2}, new int[]{1, 2, 3});
+        assertArrayEquals(new boolean[]{true, false, true}, answers);
+        assertEquals(2, set.getComponentCount());
+        assertTrue(set.getFindCount() > 0);
+        assertTrue(set.getMaxFindDepth() >= 0);
+    }
+
+    @Test
+    public void testEdgeSorterStrategiesAgree() {
+        Random random = new Random(7);
+        int[] small = new int[1000];
+        int[] wide = new int[1000];
+        for (int i = 0; i < small.length; i++) {
+            small[i] = random.nextInt(50) + 1;
+            wide[i] = random.nextInt();
+        }
+
+        for (int[] weights : Arrays.asList(small, wide)) {
+            int[] expected = EdgeSorter.sortedOrder(weights, weights.length, EdgeSorter.Strategy.PARALLEL);
+            assertArrayEquals(expected, EdgeSorter.sortedOrder(weights, weights.length, EdgeSorter.Strategy.RADIX));
+            for (int i = 1; i < expected.length; i++) {
+                assertTrue(weights[expected[i - 1]] <= weights[expected[i]]);
+            }
+        }
+        assertArrayEquals(EdgeSorter.sortedOrder(small, small.length, EdgeSorter.Strategy.PARALLEL),
+                EdgeSorter.sortedOrder(small, small.length, EdgeSorter.Strategy.COUNTING));
+        assertEquals(EdgeSorter.Strategy.COUNTING, EdgeSorter.resolve(EdgeSorter.Strategy.AUTO, 1000, 50));
+        assertEquals(EdgeSorter.Strategy.RADIX, EdgeSorter.resolve(EdgeSorter.Strategy.AUTO, 1000, 1L << 32));
+    }
+
+    @Test
+    public void testBoruvkaMatchesKruskal() {
+        for (Graph graph : Arrays.asList(createTestGraph1(), createTestGraph2(), createRandomGraph(3000, 20000, 50, 11))) {
+            MSTResult boruvka = new BoruvkaAlgorithm().findMST(graph);
+            MSTResult kruskal = new KruskalAlgorithm().findMST(graph.toCompact());
+
+            assertEquals(kruskal.getTotalCost(), boruvka.getTotalCost());
+            assertEquals(new HashSet<>(kruskal.getMstEdges()), new HashSet<>(boruvka.getMstEdges()));
+        }
+
+        MSTResult forest = new BoruvkaAlgorithm().findMST(createDisconnectedGraph());
+        assertEquals(3, forest.getMstEdges().size());
+        assertEquals(6, forest.getTotalCost());
+
+        // large enough that hooking, pointer jumping and relabeling take the parallel path
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Graph large = createRandomGraph(20000, 60000, 1000, 12);
+            MSTResult parallel = new BoruvkaAlgorithm(pool).findMST(large);
+            assertEquals(new KruskalAlgorithm().findMST(large).getTotalCost(), parallel.getTotalCost());
+            assertEquals(19999, parallel.getMstEdges().size());
+            assertFalse(hasCycle(parallel.getMstEdges(), large.getNodes()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testFilterKruskalMatchesKruskal() {
+        for (Graph graph : Arrays.asList(createTestGraph2(), createDisconnectedGraph(),
+                createRandomGraph(20000, 150000, 1000, 5))) {
+            MSTResult filtered = new FilterKruskalAlgorithm().findMST(graph);
+            MSTResult kruskal = new KruskalAlgorithm().findMST(graph.toCompact());
+
+            assertEquals(kruskal.getTotalCost(), filtered.getTotalCost());
+            assertEquals(new HashSet<>(kruskal.getMstEdges()), new HashSet<>(filtered.getMstEdges()));
+        }
+    }
+
+    @Test
+    public void testIndexedDaryHeap() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(6, 3);
+        int[] keys = {9, 4, 7, 1, 8, 5};
+        for (int id = 0; id < keys.length; id++) {
+            heap.insert(id, keys[id]);
+        }
+        heap.decreaseKey(0, 0);
+        heap.decreaseKey(4, 2);
+
+        int[] expected = {0, 3, 4, 1, 5, 2};
+        for (int id : expected) {
+            assertEquals(id, heap.pollMin());
+            assertFalse(heap.contains(id));
+        }
+        assertTrue(heap.isEmpty());
+        assertEquals(2, heap.keyOf(4));
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDaryHeap(4, 1));
+    }
+
+    @Test
+    public void testPrimHeapArities() {
+        Graph graph = createRandomGraph(2000, 12000, 100, 3);
+        int expected = new KruskalAlgorithm().findMST(graph).getTotalCost();
+        for (int arity : new int[]{2, 4, 8}) {
+            MSTResult result = new PrimAlgorithm(arity).findMST(graph);
+            assertEquals(expected, result.getTotalCost());
+            assertEquals(graph.getVertexCount() - 1, result.getMstEdges().size());
+        }
+    }
+
+    @Test
+    public void testDensePrimMatchesKruskal() {
+        for (Graph graph : Arrays.asList(createTestGraph1(), createTestGraph2(), createRandomGraph(300, 40000, 50, 9))) {
+            MSTResult dense = new DensePrimAlgorithm().findMST(graph);
+            assertEquals(new KruskalAlgorithm().findMST(graph).getTotalCost(), dense.getTotalCost());
+            assertEquals(graph.getVertexCount() - 1, dense.getMstEdges().size());
+        }
+
+        int x = DensePrimAlgorithm.NO_EDGE;
+        int[] matrix = {
+                0, 2, x,
+                2, 0, 3,
+                x, 3, 0
+        };
+        MSTResult result = new DensePrimAlgorithm().findMST(matrix, Arrays.asList("A", "B", "C"));
+        assertEquals(5, result.getTotalCost());
+        assertEquals(2, result.getOriginalEdgeCount());
+        assertThrows(IllegalArgumentException.class,
+                () -> new DensePrimAlgorithm().findMST(matrix, Arrays.asList("A", "B")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DensePrimAlgorithm().findMST(matrix, new ArrayList<>()));
+
+        MSTResult partial = new DensePrimAlgorithm().findMST(createDisconnectedGraph());
+        assertEquals(2, partial.getMstEdges().size());
+    }
+
+    @Test
+    public void testAutoSolverSelectsAndRecordsEngine(@TempDir Path dir) throws Exception {
+        AutoMSTSolver solver = new AutoMSTSolver();
+        solver.calibrate(Arrays.asList(createTestGraph2().toCompact(),
+                createRandomGraph(500, 5000, 50, 1).toCompact()), 1);
+
+        Graph graph = createRandomGraph(400, 3000, 50, 2);
+        MSTResult result = solver.findMST(graph);
+
+        assertEquals(new KruskalAlgorithm().findMST(graph).getTotalCost(), result.getTotalCost());
+        assertNotNull(result.getSelectionReason());
+        assertTrue(result.getSelectionReason().startsWith(result.getAlgorithmName()));
+        assertTrue(solver.getEngineNames().contains(solver.choose(graph)));
+
+        Path calibration = dir.resolve("calibration.properties");
+        AutoMSTSolver reloaded = new AutoMSTSolver();
+        assertFalse(reloaded.loadCalibration(calibration));
+        solver.saveCalibration(calibration);
+        assertTrue(reloaded.loadCalibration(calibration));
+        assertEquals(result.getSelectionReason(), reloaded.findMST(graph).getSelectionReason());
+
+        MSTAlgorithm always = new PrimAlgorithm() {
+            @Override
+            public String getName() {
+                return "Always";
+            }
+        };
+        solver.register(always, features -> -1.0);
+        assertEquals("Always", solver.choose(graph));
+        AutoMSTSolver extended = new AutoMSTSolver();
+        extended.register(always, features -> -1.0);
+        assertFalse(extended.loadCalibration(calibration));
+
+        // even with a model that makes it nearly free, dense Prim is never picked for a sparse graph
+        Properties model = new Properties();
+        try (java.io.Reader reader = Files.newBufferedReader(calibration)) {
+            model.load(reader);
+        }
+        model.setProperty("Dense-Prim.fixed_ms", "0");
+        model.setProperty("Dense-Prim.ms_per_unit", "1e-12");
+        try (java.io.Writer writer = Files.newBufferedWriter(calibration)) {
+            model.store(writer, null);
+        }
+        AutoMSTSolver skewed = new AutoMSTSolver();
+        assertTrue(skewed.loadCalibration(calibration));
+        assertNotEquals("Dense-Prim", skewed.choose(graph));
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            nodes.add("N" + i);
+        }
+        Graph complete = new Graph(nodes);
+        for (int i = 0; i < 30; i++) {
+            for (int j = i + 1; j < 30; j++) {
+                complete.addEdge(nodes.get(i), nodes.get(j), i + j);
+            }
+        }
+        assertEquals("Dense-Prim", skewed.choose(complete));
+    }
+
+    @Test
+    public void testSolversShareableAcrossThreads() throws Exception {
+        List<Graph> graphs = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            graphs.add(createRandomGraph(300 + i * 10, 2000, 50, i));
+        }
+        List<MSTAlgorithm> solvers = Arrays.asList(new PrimAlgorithm(), new KruskalAlgorithm(), new FilterKruskalAlgorithm());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (MSTAlgorithm solver : solvers) {
+                List<Future<Integer>> costs = new ArrayList<>();
+                for (Graph graph : graphs) {
+                    costs.add(executor.submit(() -> solver.findMST(graph).getTotalCost()));
+                }
+                for (int i = 0; i < graphs.size(); i++) {
+                    assertEquals(new KruskalAlgorithm().findMST(graphs.get(i)).getTotalCost(), costs.get(i).get());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testWorkspaceStopsAllocatingAfterWarmup() {
+        Graph graph = createRandomGraph(1000, 8000, 50, 4);
+        PrimAlgorithm prim = new PrimAlgorithm();
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+        prim.findMST(graph);
+        kruskal.findMST(graph);
+        kruskal.findMST(graph.toCompact());
+
+        long allocations = SolverWorkspace.current().getAllocationCount();
+        for (int i = 0; i < 10; i++) {
+            prim.findMST(graph);
+            kruskal.findMST(graph);
+            kruskal.findMST(graph.toCompact());
+        }
+        assertEquals(allocations, SolverWorkspace.current().getAllocationCount());
+    }
+
+    @Test
+    public void testStreamingGraphReader(@TempDir Path dir) throws Exception {
+        Path input = dir.resolve("graphs.json");
+        Files.writeString(input, "{\"meta\": {\"source\": \"test\"}, \"graphs\": ["
+                + "{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+                + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 2}, {\"from\": \"B\", \"to\": \"C\", \"weight\": 3}]},"
+                + "{\"edges\": [{\"weight\": 4, \"from\": \"X\", \"to\": \"Y\"}, {\"from\": \"Y\", \"to\": \"Z\", \"weight\": 6}],"
+                + " \"id\": 2, \"nodes\": [\"X\", \"Y\", \"Z\"]}"
+                + "]}");
+
+        try (Stream<JSONHandler.GraphData> graphs = JSONHandler.streamInputGraphs(input.toString())) {
+            Iterator<JSONHandler.GraphData> iterator = graphs.iterator();
+            JSONHandler.GraphData first = iterator.next();
+            assertEquals(1, first.id);
+            assertEquals(5, new KruskalAlgorithm().findMST(first.graph()).getTotalCost());
+
+            JSONHandler.GraphData second = iterator.next();
+            assertEquals(2, second.id);
+            assertEquals(Arrays.asList(new Edge("X", "Y", 4), new Edge("Y", "Z", 6)), second.graph().getAllEdges());
+            assertFalse(iterator.hasNext());
+        }
+
+        List<Integer> ids = JSONHandler.readInputGraphs(input.toString()).stream()
+                .map(data -> data.id).collect(Collectors.toList());
+        assertEquals(Arrays.asList(1, 2), ids);
+        assertTrue(JSONHandler.readInputGraphs(new File(dir.toFile(), "missing.json").getPath()).isEmpty());
+    }
+
+    @Test
+    public void testStreamingResultWriter(@TempDir Path dir) throws Exception {
+        Graph graph = createTestGraph1();
+        MSTResult prim = new PrimAlgorithm().findMST(graph);
+        MSTResult kruskal = new KruskalAlgorithm().findMST(graph);
+        Path output = dir.resolve("results.json");
+
+        JSONHandler.ResultWriter writer = new JSONHandler.ResultWriter(output.toString(), false, 1);
+        writer.append(new JSONHandler.ResultData(1, 4, 5, prim, kruskal));
+        String partial = Files.readString(output);
+        assertTrue(partial.startsWith("{\"results\":[{\"graph_id\":1,"));
+
+        writer.append(new JSONHandler.ResultData(2, 4, 5, prim, kruskal));
+        writer.close();
+        assertFalse(writer.hasFailed());
+
+        com.google.gson.JsonObject root = com.google.gson.JsonParser.parseString(Files.readString(output)).getAsJsonObject();
+        assertEquals(2, root.getAsJsonArray("results").size());
+        assertEquals(prim.getTotalCost(), root.getAsJsonArray("results").get(1).getAsJsonObject()
+                .getAsJsonObject("prim").get("total_cost").getAsInt());
+    }
+
+    @Test
+    public void testBinaryGraphRoundTrip(@TempDir Path dir) throws Exception {
+        List<JSONHandler.GraphData> graphs = Arrays.asList(
+                new JSONHandler.GraphData(7, createTestGraph2()),
+                new JSONHandler.GraphData(8, createRandomGraph(500, 3000, 50, 8)));
+        String binary = dir.resolve("graphs" + BinaryGraphFormat.EXTENSION).toString();
+        assertEquals(2, BinaryGraphFormat.write(binary, graphs.iterator()));
+
+        try (BinaryGraphFormat.MappedGraphFile file = new BinaryGraphFormat.MappedGraphFile(binary)) {
+            assertEquals(2, file.size());
+            assertEquals(8, file.getId(1));
+            CompactGraph loaded = file.load(1);
+            assertEquals(500, loaded.getVertexCount());
+            assertEquals(3000, loaded.getEdgeCount());
+            assertEquals(new KruskalAlgorithm().findMST(graphs.get(1).graph()).getTotalCost(),
+                    new PrimAlgorithm().findMST(loaded).getTotalCost());
+        }
+
+        String[] names = {"A", "B"};
+        int[] one = {0};
+        assertThrows(IllegalArgumentException.class, () -> CompactGraph.fromArrays(names, new int[] {0, 2, 1},
+                new int[] {1, 0}, new int[] {5, 5}, one, new int[] {1}, new int[] {5}));
+        assertThrows(IllegalArgumentException.class, () -> CompactGraph.fromArrays(names, new int[] {0, 1, 2},
+                new int[] {1, 2}, new int[] {5, 5}, one, new int[] {1}, new int[] {5}));
+        assertThrows(IllegalArgumentException.class, () -> CompactGraph.fromArrays(names, new int[] {0, 1, 2},
+                new int[] {1, 0}, new int[] {5, 5}, one, new int[] {-1}, new int[] {5}));
+
+        String corrupt = dir.resolve("corrupt" + BinaryGraphFormat.EXTENSION).toString();
+        byte[] bytes = Files.readAllBytes(Path.of(binary));
+        // graph 8's edgeTo array sits before its edgeWeight array, the 2-entry index and the trailer
+        int edgeToEnd = bytes.length - 16 - 16 - 4 * 3000;
+        Arrays.fill(bytes, edgeToEnd - 4 * 3000, edgeToEnd, (byte) 0xFF);
+        Files.write(Path.of(corrupt), bytes);
+        try (BinaryGraphFormat.MappedGraphFile file = new BinaryGraphFormat.MappedGraphFile(corrupt)) {
+            assertNotNull(file.load(0));
+            assertThrows(java.io.IOException.class, () -> file.load(1));
+        }
+
+        String json = dir.resolve("graphs.json").toString();
+        assertEquals(2, JSONHandler.convertBinaryToJson(binary, json));
+        List<JSONHandler.GraphData> reread = JSONHandler.readInputGraphs(json);
+        assertEquals(7, reread.get(0).id);
+        assertEquals(new HashSet<>(createTestGraph2().getAllEdges()), new HashSet<>(reread.get(0).graph().getAllEdges()));
+
+        String again = dir.resolve("again" + BinaryGraphFormat.EXTENSION).toString();
+        assertEquals(2, JSONHandler.convertJsonToBinary(json, again));
+        try (Stream<JSONHandler.GraphData> stream = JSONHandler.streamGraphs(again)) {
+            assertEquals(Arrays.asList(7, 8), stream.map(data -> data.id).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testGzipGraphAndResultFiles(@TempDir Path dir) throws Exception {
+        List<GraphGenerator.GraphInput> generated = GraphGenerator.generateAllGraphs();
+        String plain = dir.resolve("graphs.json").toString();
+        String compressed = dir.resolve("graphs.json.gz").toString();
+        assertTrue(JSONHandler.writeInputGraphs(plain, generated));
+        assertTrue(JSONHandler.writeInputGraphs(compressed, generated));
+
+        assertTrue(Files.size(Path.of(compressed)) * 5 < Files.size(Path.of(plain)));
+        try (java.util.zip.GZIPInputStream in = new java.util.zip.GZIPInputStream(Files.newInputStream(Path.of(compressed)))) {
+            assertArrayEquals(Files.readAllBytes(Path.of(plain)), in.readAllBytes());
+        }
+
+        List<JSONHandler.GraphData> graphs = JSONHandler.readInputGraphs(compressed);
+        assertEquals(generated.size(), graphs.size());
+
+        String results = dir.resolve("results.json.gz").toString();
+        MSTResult prim = new PrimAlgorithm().findMST(graphs.get(0).graph());
+        assertTrue(JSONHandler.writeOutputResults(results, Collections.singletonList(
+                new JSONHandler.ResultData(1, 4, 4, prim, prim))));
+        try (java.util.zip.GZIPInputStream in = new java.util.zip.GZIPInputStream(Files.newInputStream(Path.of(results)))) {
+            assertTrue(new String(in.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8).contains("\"graph_id\": 1"));
+        }
+
+        String partial = dir.resolve("partial.json.gz").toString();
+        JSONHandler.ResultWriter open = new JSONHandler.ResultWriter(partial, true, 1);
+        try {
+            open.append(new JSONHandler.ResultData(2, 4, 4, prim, prim));
+            java.io.ByteArrayOutputStream flushed = new java.io.ByteArrayOutputStream();
+            try (java.util.zip.GZIPInputStream in = new java.util.zip.GZIPInputStream(Files.newInputStream(Path.of(partial)))) {
+                byte[] buffer = new byte[4096];
+                for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                    flushed.write(buffer, 0, n);
+                }
+            } catch (java.io.EOFException expected) {
+                // the gzip trailer is only written on close
+            }
+            assertTrue(flushed.toString(java.nio.charset.StandardCharsets.UTF_8).contains("\"graph_id\": 2"));
+        } finally {
+            open.close();
+        }
+    }
+
+    @Test
+    public void testBatchPipelinePreservesInputOrder(@TempDir Path dir) throws Exception {
+        List<JSONHandler.GraphData> graphs = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            int vertices = i % 3 == 0 ? 2000 : 20;
+            graphs.add(new JSONHandler.GraphData(i + 1, createRandomGraph(vertices, vertices * 4, 100, i)));
+        }
+
+        BatchPipeline pipeline = new BatchPipeline(new PrimAlgorithm(), new KruskalAlgorithm(), new AutoMSTSolver(),
+                4, 1, 2, null, null);
+        List<Integer> seen = new ArrayList<>();
+        Path output = dir.resolve("results.json");
+        int processed;
+        try (JSONHandler.ResultWriter writer = new JSONHandler.ResultWriter(output.toString())) {
+            processed = pipeline.run(graphs.stream(), writer, (data, result) -> {
+                seen.add(result.graphId);
+                assertEquals(data.id, result.graphId);
+                assertEquals(result.primResult.getTotalCost(), result.kruskalResult.getTotalCost());
+                assertEquals(result.primResult.getTotalCost(), result.autoResult.getTotalCost());
+            });
+        }
+
+        assertEquals(12, processed);
+        assertEquals(graphs.stream().map(data -> data.id).collect(Collectors.toList()), seen);
+        com.google.gson.JsonArray results = com.google.gson.JsonParser.parseString(Files.readString(output))
+                .getAsJsonObject().getAsJsonArray("results");
+        assertEquals(12, results.size());
+        assertEquals(12, results.get(11).getAsJsonObject().get("graph_id").getAsInt());
+        assertTrue(results.get(0).getAsJsonObject().getAsJsonObject("auto").has("selection_reason"));
+
+        MSTAlgorithm failing = new MSTAlgorithm() {
+            @Override
+            public String getName() {
+                return "Failing";
+            }
+
+            @Override
+            public MSTResult findMST(Graph graph) {
+                return findMST(graph.toCompact());
+            }
+
+            @Override
+            public MSTResult findMST(CompactGraph graph) {
+                if (graph.getVertexCount() == 2000) {
+                    throw new OutOfMemoryError("simulated");
+                }
+                if (Arrays.stream(graph.getEdgeWeights()).sum() % 2 == 0) {
+                    throw new IllegalStateException("simulated");
+                }
+                return new KruskalAlgorithm().findMST(graph);
+            }
+        };
+        List<Integer> inspected = Collections.synchronizedList(new ArrayList<>());
+        BatchPipeline.Listener<Integer> listener = new BatchPipeline.Listener<Integer>() {
+            @Override
+            public Integer inspect(JSONHandler.GraphData data, JSONHandler.ResultData result) {
+                inspected.add(data.id);
+                return data.compact.componentCount();
+            }
+
+            @Override
+            public void report(JSONHandler.GraphData data, JSONHandler.ResultData result, Integer components) {
+                assertEquals(1, components);
+            }
+        };
+        BatchPipeline broken = new BatchPipeline(failing, new KruskalAlgorithm(), 4, 1, 2, null, null);
+        try (JSONHandler.ResultWriter writer = new JSONHandler.ResultWriter(dir.resolve("broken.json").toString())) {
+            assertTimeoutPreemptively(java.time.Duration.ofSeconds(60), () -> assertThrows(OutOfMemoryError.class,
+                    () -> broken.run(graphs.stream(), writer, listener)));
+        }
+        inspected.clear();
+        try (JSONHandler.ResultWriter writer = new JSONHandler.ResultWriter(dir.resolve("partial.json").toString())) {
+            int survived = broken.run(graphs.stream().filter(data -> data.compact.getVertexCount() != 2000), writer, listener);
+            assertEquals(inspected.size(), survived);
+            assertTrue(survived < 8);
+        }
+
+        Stream<JSONHandler.GraphData> unreadable = Stream.concat(graphs.stream().limit(3),
+                Stream.<JSONHandler.GraphData>generate(() -> {
+                    throw new java.io.UncheckedIOException(new java.io.IOException("simulated"));
+                }).limit(1));
+        Path truncated = dir.resolve("truncated.json");
+        try (JSONHandler.ResultWriter writer = new JSONHandler.ResultWriter(truncated.toString())) {
+            assertThrows(java.io.UncheckedIOException.class,
+                    () -> pipeline.run(unreadable, writer, (data, result) -> { }));
+        }
+        assertEquals(3, com.google.gson.JsonParser.parseString(Files.readString(truncated))
+                .getAsJsonObject().getAsJsonArray("results").size());
+    }
+
+    @Test
+    public void testDynamicMSTTracksRecomputedCost() {
+        Graph graph = createRandomGraph(60, 150, 100, 17);
+        DynamicMST dynamic = new DynamicMST(graph.getNodes(), new KruskalAlgorithm().findMST(graph));
+        Random random = new Random(17);
+
+        for (int step = 0; step < 200; step++) {
+            String from = "N" + random.nextInt(60);
+            String to = "N" + random.nextInt(60);
+            long before = dynamic.getTotalCost();
+            DynamicMST.Update update;
+            if (step % 3 == 0 && dynamic.getEdgeCount() > 0) {
+                Edge treeEdge = dynamic.getEdges().get(random.nextInt(dynamic.getEdgeCount()));
+                int lowered = treeEdge.getWeight() - random.nextInt(treeEdge.getWeight() + 1);
+                update = dynamic.decreaseWeight(treeEdge.getFrom(), treeEdge.getTo(), lowered);
+                graph.addEdge(treeEdge.getFrom(), treeEdge.getTo(), lowered);
+            } else {
+                int weight = random.nextInt(120) + 1;
+                update = dynamic.insertEdge(from, to, weight);
+                graph.addEdge(from, to, weight);
+            }
+
+            assertEquals(before + update.getCostDelta(), dynamic.getTotalCost());
+            assertEquals(new KruskalAlgorithm().findMST(graph).getTotalCost(), dynamic.getTotalCost());
+        }
+        assertEquals(59, dynamic.getEdgeCount());
+        assertFalse(hasCycle(dynamic.getEdges(), graph.getNodes()));
+
+        Graph line = new Graph(Arrays.asList("A", "B", "C"));
+        line.addEdge("A", "B", 5);
+        line.addEdge("B", "C", 2);
+        DynamicMST small = new DynamicMST(line.getNodes(), new PrimAlgorithm().findMST(line));
+        assertEquals(new Edge("A", "B", 5), small.maxEdgeOnPath("A", "C"));
+        DynamicMST.Update update = small.insertEdge("A", "C", 3);
+        assertEquals(-2, update.getCostDelta());
+        assertEquals(new Edge("A", "B", 5), update.getRemoved());
+        assertFalse(small.insertEdge("A", "B", 4).changed());
+        assertThrows(IllegalArgumentException.class, () -> small.decreaseWeight("B", "C", 2, 9));
+
+        assertFalse(small.decreaseWeight("B", "C", 9).changed());
+        assertFalse(small.decreaseWeight("B", "C", 9, 4).changed());
+        assertEquals(2, small.maxEdgeOnPath("B", "C").getWeight());
+        DynamicMST.Update lowered = small.decreaseWeight("B", "C", 2, 1);
+        assertEquals(-1, lowered.getCostDelta());
+        assertEquals(new Edge("B", "C", 1), lowered.getAdded());
+    }
+
+    @Test
+    public void testSensitivityMatchesResolveWithoutEdge() {
+        Graph random = createRandomGraph(40, 70, 30, 18);
+        List<String> nodes = new ArrayList<>(random.getNodes());
+        nodes.add("Leaf");
+        Graph graph = new Graph(nodes);
+        for (Edge edge : random.getAllEdges()) {
+            graph.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+        }
+        graph.addEdge("Leaf", "N0", 7);
+        MSTResult mst = new KruskalAlgorithm().findMST(graph);
+        MSTSensitivity sensitivity = new MSTSensitivity(graph, mst);
+        assertEquals(mst.getTotalCost(), sensitivity.getTotalCost());
+
+        for (Edge closed : mst.getMstEdges()) {
+            Graph without = new Graph(graph.getNodes());
+            boolean skipped = false;
+            for (Edge edge : graph.getAllEdges()) {
+                if (!skipped && edge.equals(closed)) {
+                    skipped = true;
+                } else {
+                    without.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+                }
+            }
+
+            long expected = without.isConnected() ? new KruskalAlgorithm().findMST(without).getTotalCost() : -1;
+            assertEquals(expected, sensitivity.getCostWithout(closed.getFrom(), closed.getTo()), closed.toString());
+            Edge replacement = sensitivity.getReplacement(closed.getTo(), closed.getFrom());
+            if (replacement == null) {
+                assertEquals(Integer.MAX_VALUE, sensitivity.getTolerance(closed.getFrom(), closed.getTo()));
+            } else {
+                assertEquals(replacement.getWeight() - closed.getWeight(),
+                        sensitivity.getTolerance(closed.getFrom(), closed.getTo()));
+            }
+        }
+        assertNull(sensitivity.getReplacement("Leaf", "N0"));
+        assertThrows(IllegalArgumentException.class, () -> sensitivity.getTolerance("Leaf", "N1"));
+    }
+
+    @Test
+    public void testBottleneckIndexMatchesTreeWalk() {
+        Graph graph = createRandomGraph(300, 900, 1000, 19);
+        MSTResult mst = new PrimAlgorithm().findMST(graph);
+        BottleneckIndex index = new BottleneckIndex(graph.getNodes(), mst);
+
+        Map<String, List<Edge>> tree = new HashMap<>();
+        for (Edge edge : mst.getMstEdges()) {
+            tree.computeIfAbsent(edge.getFrom(), k -> new ArrayList<>()).add(edge);
+            tree.computeIfAbsent(edge.getTo(), k -> new ArrayList<>()).add(new Edge(edge.getTo(), edge.getFrom(), edge.getWeight()));
+        }
+
+        Random random = new Random(19);
+        int[] from = new int[200];
+        int[] to = new int[200];
+        for (int q = 0; q < from.length; q++) {
+            from[q] = random.nextInt(300);
+            to[q] = random.nextInt(300);
+            String a = "N" + from[q];
+            String b = "N" + to[q];
+
+            Map<String, long[]> reached = new HashMap<>();
+            reached.put(a, new long[] {0, 0});
+            Deque<String> queue = new ArrayDeque<>(Collections.singletonList(a));
+            while (!queue.isEmpty()) {
+                String u = queue.poll();
+                for (Edge edge : tree.getOrDefault(u, Collections.emptyList())) {
+                    if (!reached.containsKey(edge.getTo())) {
+                        long[] at = reached.get(u);
+                        reached.put(edge.getTo(), new long[] {Math.max(at[0], edge.getWeight()), at[1] + edge.getWeight()});
+                        queue.add(edge.getTo());
+                    }
+                }
+            }
+            assertEquals(reached.get(b)[0], index.bottleneck(a, b));
+            assertEquals(reached.get(b)[1], index.pathCost(a, b));
+        }
+
+        int[] batch = index.bottleneck(from, to);
+        for (int q = 0; q < from.length; q++) {
+            assertEquals(index.bottleneck(from[q], to[q]), batch[q]);
+        }
+
+        Graph disconnected = createDisconnectedGraph();
+        BottleneckIndex forest = new BottleneckIndex(disconnected.getNodes(), new KruskalAlgorithm().findMST(disconnected));
+        assertEquals(2, forest.bottleneck("A", "C"));
+        assertEquals(3, forest.pathCost("C", "A"));
+        assertEquals(-1, forest.bottleneck("A", "D"));
+        assertEquals(-1, forest.pathCost("A", "E"));
+    }
+
+    @Test
+    public void testExternalKruskalMatchesInMemory(@TempDir Path dir) throws Exception {
+        Graph graph = createRandomGraph(500, 3000, 200, 20);
+        Path edges = dir.resolve("network" + EdgeListFile.EXTENSION);
+        EdgeListFile.write(edges, graph.toCompact());
+        assertEquals(3000, EdgeListFile.edgeCount(edges));
+
+        MSTResult expected = new KruskalAlgorithm().findMST(graph);
+        List<Edge> streamed = new ArrayList<>();
+        ExternalKruskal.Summary summary = new ExternalKruskal(20, dir).findMST(edges,
+                (u, v, w) -> streamed.add(new Edge(graph.getNodeName(u), graph.getNodeName(v), w)));
+
+        assertEquals(150, summary.getRunCount());
+        assertEquals(expected.getTotalCost(), summary.getTotalCost());
+        assertEquals(499, summary.getMstEdgeCount());
+        assertEquals(new HashSet<>(expected.getMstEdges()), new HashSet<>(streamed));
+
+        Path mst = dir.resolve("mst" + EdgeListFile.EXTENSION);
+        assertEquals(expected.getTotalCost(), new ExternalKruskal(1000, dir).findMST(edges, mst).getTotalCost());
+        assertEquals(499, EdgeListFile.edgeCount(mst));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    public void testNetworkGeneratorTopologies() throws Exception {
+        List<long[]> serial = new ArrayList<>();
+        List<long[]> parallel = new ArrayList<>();
+        assertEquals(200_000, new NetworkGenerator(22, 1).erdosRenyi(40_000, 200_000, 1000,
+                (u, v, w) -> serial.add(new long[] {u, v, w})));
+        new NetworkGenerator(22, 4).erdosRenyi(40_000, 200_000, 1000, (u, v, w) -> parallel.add(new long[] {u, v, w}));
+        assertEquals(serial.size(), parallel.size());
+        for (int i = 0; i < serial.size(); i++) {
+            assertArrayEquals(serial.get(i), parallel.get(i));
+        }
+        assertEquals(serial.size(), serial.stream().map(e -> e[0] * 40_000 + e[1]).distinct().count());
+        assertTrue(serial.stream().allMatch(e -> e[0] < e[1] && e[2] >= 1 && e[2] <= 1000));
+
+        CompactGraph dense = NetworkGenerator.toCompactGraph(600, 170_000,
+                sink -> new NetworkGenerator(22).erdosRenyi(600, 170_000, 10, sink));
+        assertEquals(170_000, dense.getEdgeCount());
+        Set<Long> densePairs = new HashSet<>();
+        for (int e = 0; e < dense.getEdgeCount(); e++) {
+            assertTrue(dense.getEdgeFrom(e) < dense.getEdgeTo(e));
+            assertTrue(densePairs.add((long) dense.getEdgeFrom(e) * 600 + dense.getEdgeTo(e)));
+        }
+
+        CompactGraph grid = NetworkGenerator.toCompactGraph(30 * 40, 0,
+                sink -> new NetworkGenerator(22).grid(30, 40, 50, sink));
+        assertEquals(2 * 30 * 40 - 30 - 40, grid.getEdgeCount());
+        assertTrue(grid.isConnected());
+
+        CompactGraph geometric = NetworkGenerator.toCompactGraph(5000, 0,
+                sink -> new NetworkGenerator(22).geometric(5000, 8, 100, sink));
+        double averageDegree = 2.0 * geometric.getEdgeCount() / geometric.getVertexCount();
+        assertTrue(averageDegree > 6 && averageDegree < 9, "average degree " + averageDegree);
+
+        CompactGraph scaleFree = NetworkGenerator.toCompactGraph(2000, 0,
+                sink -> new NetworkGenerator(22).scaleFree(2000, 3, 100, sink));
+        assertEquals(3 * 2 + 3 * (2000 - 4), scaleFree.getEdgeCount());
+        assertTrue(scaleFree.isConnected());
+        int maxDegree = 0;
+        for (int v = 0; v < scaleFree.getVertexCount(); v++) {
+            maxDegree = Math.max(maxDegree, scaleFree.degree(v));
+        }
+        assertTrue(maxDegree > 50, "hub degree " + maxDegree);
+        assertEquals(new KruskalAlgorithm().findMST(scaleFree).getTotalCost(),
+                new PrimAlgorithm().findMST(scaleFree).getTotalCost());
+    }
+
+    @Test
+    public void testEuclideanMSTMatchesCompleteGraph() {
+        Random random = new Random(23);
+        int n = 400;
+        List<String> nodes = new ArrayList<>();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            nodes.add("S" + i);
+            x[i] = random.nextInt(100) + random.nextDouble();
+            y[i] = random.nextInt(100);
+        }
+
+        EuclideanMST euclidean = new EuclideanMST(EuclideanMST.Metric.EUCLIDEAN, 100);
+        MSTResult geometric = euclidean.findMST(nodes, x, y);
+        Graph complete = new Graph(nodes);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                complete.addEdge(nodes.get(i), nodes.get(j), (int) Math.round(Math.hypot(x[i] - x[j], y[i] - y[j]) * 100));
+            }
+        }
+        assertEquals(n - 1, geometric.getMstEdges().size());
+        assertFalse(hasCycle(geometric.getMstEdges(), nodes));
+        assertEquals(new KruskalAlgorithm().findMST(complete).getTotalCost(), geometric.getTotalCost());
+
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = 40 + random.nextDouble() * 15;
+            lon[i] = 60 + random.nextDouble() * 30;
+        }
+        MSTResult haversine = new EuclideanMST(EuclideanMST.Metric.HAVERSINE, 1).findMST(nodes, lat, lon);
+        Graph globe = new Graph(nodes);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double dLat = Math.toRadians(lat[j] - lat[i]);
+                double dLon = Math.toRadians(lon[j] - lon[i]);
+                double h = Math.pow(Math.sin(dLat / 2), 2)
+                        + Math.cos(Math.toRadians(lat[i])) * Math.cos(Math.toRadians(lat[j])) * Math.pow(Math.sin(dLon / 2), 2);
+                globe.addEdge(nodes.get(i), nodes.get(j), (int) Math.round(2 * 6_371_008.8 * Math.asin(Math.sqrt(h))));
+            }
+        }
+        assertEquals(new KruskalAlgorithm().findMST(globe).getTotalCost(), haversine.getTotalCost(), n);
+        assertEquals("Haversine-MST", haversine.getAlgorithmName());
+
+        EuclideanMST scaled = new EuclideanMST(EuclideanMST.Metric.HAVERSINE, 150);
+        assertThrows(IllegalArgumentException.class, () -> scaled.findMST(Arrays.asList("P", "Q", "R"),
+                new double[]{0, 0, 0}, new double[]{0, 90, 180}));
+    }
+
+    @Test
+    public void testSpanningForestPerComponent() {
+        ForestResult small = new SpanningForestSolver().findForest(createDisconnectedGraph());
+        assertEquals(2, small.getComponentCount());
+        assertEquals(Arrays.asList("A", "B", "C"), small.getComponents().get(0).getNodes());
+        assertEquals(3, small.getComponents().get(0).getCost());
+        assertEquals(3, small.getComponents().get(1).getCost());
+        assertEquals(6, small.getTotalCost());
+
+        Random random = new Random(11);
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            nodes.add("N" + i);
+        }
+        Graph graph = new Graph(nodes);
+        for (int i = 0; i < 1500; i++) {
+            int u = random.nextInt(300);
+            int v = random.nextInt(300);
+            if (u != v && u % 7 == v % 7) {
+                graph.addEdge(nodes.get(u), nodes.get(v), random.nextInt(100) + 1);
+            }
+        }
+        graph.addEdge("N299", "N299", 5);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (MSTAlgorithm engine : Arrays.asList(new PrimAlgorithm(), new KruskalAlgorithm(), new BoruvkaAlgorithm())) {
+                ForestResult forest = new SpanningForestSolver(engine, pool).findForest(graph);
+                assertEquals(new KruskalAlgorithm().findMST(graph).getTotalCost(), forest.getTotalCost());
+                assertEquals(300 - forest.getComponentCount(), forest.getAllEdges().size());
+                for (ForestResult.Component component : forest.getComponents()) {
+                    assertEquals(component.getNodes().size() - 1, component.getEdges().size());
+                    for (Edge edge : component.getEdges()) {
+                        assertTrue(component.getNodes().contains(edge.getFrom()));
+                        assertTrue(component.getNodes().contains(edge.getTo()));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testComponentAnalysis() {
+        Graph disconnected = createDisconnectedGraph();
+        assertArrayEquals(new int[]{0, 0, 0, 1, 1}, disconnected.componentLabels());
+        assertEquals(2, disconnected.componentCount());
+        Graph largest = disconnected.largestComponent();
+        assertEquals(Arrays.asList("A", "B", "C"), largest.getNodes());
+        assertEquals(2, largest.getEdgeCount());
+        assertEquals(0, new Graph(new ArrayList<>()).componentCount());
+
+        int n = 200_000;
+        List<String> chain = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            chain.add("R" + i);
+        }
+        CompactGraph.Builder road = new CompactGraph.Builder(chain, n);
+        for (int i = 1; i < n; i++) {
+            road.addEdge(i - 1, i, 1);
+        }
+        Graph roads = Graph.fromCompact(road.build());
+        assertTrue(roads.isConnected());
+        assertEquals(1, roads.componentCount());
+
+        CompactGraph random = createRandomGraph(20_000, 30_000, 10, 5).toCompact();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(random.reachableFrom(17), random.reachableFrom(17, pool));
+            assertEquals(20_000, random.reachableFrom(0, pool).cardinality());
+            assertEquals(n, roads.toCompact().reachableFrom(n / 2, pool).cardinality());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testResultCacheTiers(@TempDir Path dir) throws Exception {
+        Graph graph = createTestGraph1();
+        Graph reordered = new Graph(Arrays.asList("D", "C", "B", "A"));
+        reordered.addEdge("D", "C", 3);
+        reordered.addEdge("B", "D", 5);
+        reordered.addEdge("C", "B", 2);
+        reordered.addEdge("C", "A", 4);
+        reordered.addEdge("B", "A", 1);
+        String key = MSTResultCache.key(graph);
+        assertEquals(key, MSTResultCache.key(reordered));
+        assertNotEquals(key, MSTResultCache.key(createTestGraph2()));
+
+        MSTResult prim = new PrimAlgorithm().findMST(graph);
+        MSTResult kruskal = new KruskalAlgorithm().findMST(graph);
+        MSTResultCache cache = new MSTResultCache(1, dir.toString());
+        assertNull(cache.get(key));
+        cache.put(key, new MSTResultCache.CachedResults(prim, kruskal));
+        assertFalse(prim.isCached());
+        assertTrue(cache.get(key).primResult.isCached());
+
+        String otherKey = MSTResultCache.key(createTestGraph2());
+        cache.put(otherKey, new MSTResultCache.CachedResults(prim, kruskal));
+        assertEquals(1, cache.size());
+
+        MSTResultCache.CachedResults fromDisk = new MSTResultCache(4, dir.toString()).get(key);
+        assertEquals(prim.getTotalCost(), fromDisk.primResult.getTotalCost());
+        assertEquals(new HashSet<>(kruskal.getMstEdges()), new HashSet<>(fromDisk.kruskalResult.getMstEdges()));
+        assertTrue(fromDisk.kruskalResult.isCached());
+
+        // graph 1 goes A -> B -> A: the image for A must not be the one rendered for B
+        Path rendered = dir.resolve("rendered.png");
+        Path shipped = dir.resolve("out").resolve("graph_01.png");
+        Files.write(rendered, new byte[] {'A'});
+        cache.putImage(key, 1, rendered);
+        Files.write(rendered, new byte[] {'B'});
+        cache.putImage(otherKey, 1, rendered);
+        assertTrue(cache.copyImage(otherKey, 1, shipped));
+        assertArrayEquals(new byte[] {'B'}, Files.readAllBytes(shipped));
+        assertTrue(cache.copyImage(key, 1, shipped));
+        assertArrayEquals(new byte[] {'A'}, Files.readAllBytes(shipped));
+        assertFalse(cache.copyImage(key, 2, shipped));
+        assertFalse(new MSTResultCache(4).copyImage(key, 1, shipped));
+
+        cache.get(key);
+        assertEquals(1, cache.getMemoryHitCount());
+        assertEquals(1, cache.getDiskHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
     private Graph createTestGraph1() {
         List<String> nodes = Arrays.asList("A", "B", "C", "D");
         Graph graph = new Graph(nodes);
@@ -155,6 +1112,23 @@ public class MSTTest {
         return graph;
     }
 
+    private Graph createRandomGraph(int vertexCount, int edgeCount, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < vertexCount; i++) {
+            nodes.add("N" + i);
+        }
+        Graph graph = new Graph(nodes);
+        for (int i = 1; i < vertexCount; i++) {
+            graph.addEdge(nodes.get(random.nextInt(i)), nodes.get(i), random.nextInt(maxWeight) + 1);
+        }
+        for (int i = vertexCount - 1; i < edgeCount; i++) {
+            graph.addEdge(nodes.get(random.nextInt(vertexCount)), nodes.get(random.nextInt(vertexCount)),
+                    random.nextInt(maxWeight) + 1);
+        }
+        return graph;
+    }
+
     private boolean hasCycle(List<Edge> edges, List<String> nodes) {
         Map<String, String> parent = new HashMap<>();
         for (String node : nodes) {